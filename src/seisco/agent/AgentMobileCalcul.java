@@ -3,15 +3,22 @@ package seisco.agent;
 import jade.core.AID;
 import jade.core.Agent;
 import jade.wrapper.ControllerException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
 import seisco.algo.Algorithme;
 import seisco.algo.JeuParametres;
 import seisco.algo.Operateur;
+import seisco.algo.PointReprise;
+import seisco.algo.StatistiquesEvaluation;
 import seisco.comportement.amc.EcouterDeplacement;
+import seisco.comportement.amc.ExecuterAlgorithme;
 import seisco.comportement.amc.FinExecution;
 import seisco.comportement.amc.PresenterSolution;
+import seisco.comportement.amc.PresenterStatistiques;
 import seisco.probleme.Solution;
 import seisco.util.Etat;
 
@@ -22,7 +29,9 @@ import seisco.util.Etat;
  * @version 2012
  */
 public abstract class AgentMobileCalcul extends Agent {
-    protected Algorithme algo;
+    /* Sérialisé par writeObject : point de reprise si l'algorithme le permet */
+    protected transient Algorithme algo;
+    private transient byte[] pointReprise;
     
     protected Solution cacheSolution;
     
@@ -43,6 +52,7 @@ public abstract class AgentMobileCalcul extends Agent {
      * @since 2012
      * @see Etat
      * @see PresenterSolution
+     * @see PresenterStatistiques
      * @see EcouterDeplacement
      * @see FinExecution
      */
@@ -67,6 +77,7 @@ public abstract class AgentMobileCalcul extends Agent {
         
         // Initialisation des comportements
         addBehaviour(new PresenterSolution(this));
+        addBehaviour(new PresenterStatistiques(this));
         addBehaviour(new EcouterDeplacement(this, 2000));
         addBehaviour(new FinExecution(this));
     }
@@ -96,10 +107,116 @@ public abstract class AgentMobileCalcul extends Agent {
             println("Erreur: Impossible de récupérer le nom du container.");
         }
         
+        if (this.pointReprise != null)
+            reprendre();
+        
         // Execution de l'algo
         setEtat("deplacement", false);
     }
     
+    /**
+     * <p>Reconstruit l'algorithme à partir du point de reprise reçu lors du déplacement.
+     * 
+     * @since 2013
+     * @see #creerAlgorithme(PointReprise)
+     */
+    private void reprendre() {
+        try {
+            PointReprise point = PointReprise.depuisOctets(this.pointReprise);
+            Algorithme reprise = creerAlgorithme(point);
+            if (reprise == null) {
+                println("Erreur: Impossible de reprendre " + point.getClasseAlgorithme() + " après le déplacement.");
+                return;
+            }
+            
+            reprise.restaurer(point);
+            this.algo = reprise;
+            println("Reprise à l'itération " + point.getNbIterations() + " (" + this.pointReprise.length + " octets).");
+        } catch (IOException | RuntimeException ex) {
+            println("Erreur: Point de reprise illisible: " + ex.getMessage());
+        } finally {
+            this.pointReprise = null;
+        }
+    }
+    
+    /**
+     * <p>Crée, à l'arrivée d'un déplacement, l'algorithme qui reprendra l'exécution.
+     * <p>La sous-classe recharge les données immuables (graphe, distancier...) désignées par les empreintes
+     * du point de reprise, les vérifie par {@link PointReprise#verifierReference(String, long)},
+     * et retourne l'algorithme avec son problème, ses paramètres et ses opérateurs.
+     * L'état de l'exécution est ensuite restauré par {@link Algorithme#restaurer(PointReprise)}.
+     * 
+     * @param point
+     *      Le point de reprise reçu
+     * @return L'algorithme à restaurer, ou <code>null</code> par défaut
+     * @since 2013
+     * @see Algorithme#estSauvegardable()
+     * @see #peutReprendre()
+     */
+    protected Algorithme creerAlgorithme(PointReprise point) {
+        return null;
+    }
+    
+    /**
+     * <p>Indique si l'agent sait reconstruire son algorithme à partir d'un point de reprise.
+     * <p>À redéfinir avec {@link #creerAlgorithme(PointReprise)}: tant que ce n'est pas le cas, l'algorithme
+     * est sérialisé entièrement lors d'un déplacement, même s'il est sauvegardable.
+     * 
+     * @return <code>false</code> par défaut
+     * @since 2013
+     */
+    protected boolean peutReprendre() {
+        return false;
+    }
+    
+    /**
+     * <p>Sérialise l'agent pour un déplacement.
+     * <p>Si l'algorithme est {@link Algorithme#estSauvegardable() sauvegardable} et que l'agent
+     * {@link #peutReprendre() sait le reconstruire}, seul son point de reprise est écrit, sans le problème
+     * ni ses données ; sinon l'algorithme est sérialisé entièrement.
+     * 
+     * @since 2013
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        
+        boolean reprise = this.algo != null && this.algo.estSauvegardable() && peutReprendre();
+        out.writeBoolean(reprise);
+        if (reprise)
+            out.writeObject(this.algo.creerPointReprise().toOctets());
+        else
+            out.writeObject(this.algo);
+    }
+    
+    /**
+     * <p>Désérialise l'agent; l'algorithme est reconstruit au {@link #afterMove()}.
+     * 
+     * @since 2013
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        
+        if (in.readBoolean())
+            this.pointReprise = (byte[]) in.readObject();
+        else
+            this.algo = (Algorithme) in.readObject();
+    }
+    
+    /**
+     * <p>Lance l'exécution de l'algorithme par tranches, à la place d'un appel bloquant à {@link Algorithme#executer()}.
+     * <p>À appeler une fois l'algorithme associé, généralement à la fin du {@link #setup()} de la sous-classe.
+     * 
+     * @param nbIterations
+     *      Le nombre maximum d'itérations par tranche, ou <code>0</code> pour ne pas le limiter
+     * @param dureeMillis
+     *      La durée maximum d'une tranche en ms, ou <code>0</code> pour ne pas la limiter
+     * @since 2013
+     * @see ExecuterAlgorithme
+     */
+    protected void executerParTranches(int nbIterations, long dureeMillis) {
+        addBehaviour(new ExecuterAlgorithme(this, nbIterations, dureeMillis));
+    }
+    
     /**
      * <p>Exécuté à l'arrêt de l'agent.
      * 
@@ -133,6 +250,17 @@ public abstract class AgentMobileCalcul extends Agent {
         this.algo = algo;
     }
     
+    /**
+     * <p>Retourne les statistiques d'évaluation de l'algorithme de l'agent.
+     * 
+     * @return Les statistiques, ou <code>null</code> si aucun algorithme n'est associé
+     * @since 2013
+     * @see Algorithme#getStatistiques()
+     */
+    public StatistiquesEvaluation getStatistiques() {
+        return (algo != null) ? algo.getStatistiques() : null;
+    }
+    
     /**
      * <p>Retourne le numéro de l'exécution actulle de l'algorithme.
      * 
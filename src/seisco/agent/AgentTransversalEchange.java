@@ -11,6 +11,8 @@ import java.util.List;
 import java.util.Map;
 import seisco.comportement.ate.EcouteFinExecution;
 import seisco.comportement.ate.RecupererSolution;
+import seisco.comportement.ate.RecupererStatistiques;
+import seisco.algo.StatistiquesEvaluation;
 import seisco.probleme.Solution;
 import seisco.util.Etat;
 import seisco.util.yaml.file.YamlConfiguration;
@@ -30,6 +32,7 @@ public abstract class AgentTransversalEchange extends Agent {
     
     protected Solution cacheSolution;
     protected AID cacheAMC;
+    protected StatistiquesEvaluation cacheStatistiques;
     
     protected List<Etat> etats;
     
@@ -51,6 +54,7 @@ public abstract class AgentTransversalEchange extends Agent {
      * @since 2012
      * @see Etat
      * @see RecupererSolution
+     * @see RecupererStatistiques
      * @see EcouteFinExecution
      */
     @Override
@@ -111,9 +115,12 @@ public abstract class AgentTransversalEchange extends Agent {
         this.etats.add(new Etat("finRecupSolution", false));
         this.etats.add(new Etat("envoiSolution", false));
         this.etats.add(new Etat("solutionsRecues", false));
+        this.etats.add(new Etat("demandeStatistiques", false));
+        this.etats.add(new Etat("statistiquesPresentes", false));
         
         // Initialisation des comportements
         addBehaviour(new RecupererSolution(this));
+        addBehaviour(new RecupererStatistiques(this));
         addBehaviour(new EcouteFinExecution(this));
     }
     
@@ -217,6 +224,30 @@ public abstract class AgentTransversalEchange extends Agent {
         this.cacheSolution = cacheSolution;
     }
 
+    /**
+     * <p>Retourne les statistiques d'évaluation reçues du dernier AMC interrogé.
+     * 
+     * @return Les statistiques en cache, ou <code>null</code> si aucune n'a été reçue.
+     * @since 2013
+     * @see #setCacheStatistiques(StatistiquesEvaluation) 
+     * @see RecupererStatistiques
+     */
+    public StatistiquesEvaluation getCacheStatistiques() {
+        return cacheStatistiques;
+    }
+    
+    /**
+     * <p>Remplace les statistiques d'évaluation en cache.
+     * 
+     * @param cacheStatistiques 
+     *      Les nouvelles statistiques
+     * @since 2013
+     * @see #getCacheStatistiques() 
+     */
+    public void setCacheStatistiques(StatistiquesEvaluation cacheStatistiques) {
+        this.cacheStatistiques = cacheStatistiques;
+    }
+
     /**
      * <p>Retourne une liste des AID des ATEs.
      * 
@@ -4,6 +4,7 @@ import jade.content.Concept;
 import java.util.ArrayList;
 import java.util.List;
 import seisco.probleme.Probleme;
+import seisco.probleme.Solution;
 import seisco.util.Parametre;
 
 /**
@@ -25,7 +26,17 @@ public abstract class Algorithme implements Concept {
     protected JeuParametres parametres;
     protected List<Operateur> operateurs;
     
+    /**
+     * @deprecated remplacé par {@link #statistiques}, qui mesure en nanosecondes
+     */
+    @Deprecated
     protected long timeObjectiveFunction = 0;
+    protected final StatistiquesEvaluation statistiques = new StatistiquesEvaluation();
+    
+    protected Solution meilleureSolution;
+    protected float meilleureEvaluation = Float.POSITIVE_INFINITY;
+    private int nbIterations = 0;
+    private boolean termine = false;
     
     /**
      * <p>
@@ -159,9 +170,56 @@ public abstract class Algorithme implements Concept {
      *      fonction « objectif » du {@link Probleme}.
      * @since 2008
      * @see Probleme#fonctionObjectif(seisco.probleme.Solution) 
+     * @deprecated la plupart des évaluations durent moins d'une milliseconde ;
+     *  utiliser {@link #getStatistiques()}
      */
+    @Deprecated
     public long getTimeObjectiveFunction() {
-        return this.timeObjectiveFunction;
+        return this.timeObjectiveFunction + statistiques.getTempsTotalNanos() / 1000000;
+    }
+
+    /**
+     * <p>
+     * Retourne les mesures des évaluations faites par {@link #evaluer(seisco.probleme.Solution)}
+     * et {@link #evaluer(seisco.probleme.Solution[], float[])} : nombre,
+     * histogramme des durées et débit.
+     * 
+     * @return les statistiques d'évaluation de l'algorithme
+     * @since 2013
+     */
+    public StatistiquesEvaluation getStatistiques() {
+        return statistiques;
+    }
+
+    /**
+     * <p>Évalue une solution par {@link Probleme#evaluer(seisco.probleme.Solution)} en mesurant sa durée
+     * 
+     * @param s la solution à évaluer
+     * @return l'évaluation de la solution
+     * @since 2013
+     * @see #getStatistiques()
+     */
+    protected float evaluer(Solution s) {
+        long debut = System.nanoTime();
+        float evaluation = probleme.evaluer(s);
+        statistiques.enregistrer(System.nanoTime() - debut);
+        return evaluation;
+    }
+
+    /**
+     * <p>
+     * Évalue un lot de solutions par {@link Probleme#evaluer(seisco.probleme.Solution[], float[])}
+     * en mesurant la durée du lot.
+     * 
+     * @param solutions les solutions à évaluer, par exemple une génération entière
+     * @param evaluations le tableau recevant les évaluations
+     * @since 2013
+     * @see StatistiquesEvaluation#enregistrerLot(int, long)
+     */
+    protected void evaluer(Solution[] solutions, float[] evaluations) {
+        long debut = System.nanoTime();
+        probleme.evaluer(solutions, evaluations);
+        statistiques.enregistrerLot(solutions.length, System.nanoTime() - debut);
     }
 
     /**
@@ -172,6 +230,198 @@ public abstract class Algorithme implements Concept {
      */
     public abstract void executer() throws AlgorithmException;
 
+    /**
+     * <p>
+     * Exécute une itération de l'algorithme (une génération, un passage
+     * de la colonie...) et rend la main.
+     * 
+     * <p>
+     * Par défaut, exécute tout l'algorithme par {@link #executer()} en une
+     * seule itération. Un algorithme redéfinit cette méthode pour être
+     * exécuté par tranches (voir {@link #executerTranche(int, long)}) : son
+     * état doit alors être conservé dans ses attributs d'une itération à
+     * l'autre, et les solutions trouvées proposées par
+     * {@link #proposerSolution(seisco.probleme.Solution, float)}.
+     * 
+     * @return <b>true</b> s'il reste des itérations à exécuter, <b>false</b> si l'algorithme est terminé
+     * @throws AlgorithmException si un problème survient
+     * @since 2013
+     */
+    public boolean iterer() throws AlgorithmException {
+        executer();
+        return false;
+    }
+
+    /**
+     * <p>
+     * Exécute des itérations jusqu'à la fin de l'algorithme ou jusqu'à
+     * épuisement du budget, puis rend la main : l'agent qui l'exécute peut
+     * entre deux tranches répondre à ses messages, publier la meilleure
+     * solution ou se déplacer. Une tranche exécute toujours au moins une
+     * itération si l'algorithme n'est pas terminé.
+     * 
+     * @param nbIterationsMax le nombre maximum d'itérations, ou <b>0</b> pour ne pas le limiter
+     * @param dureeMaxMillis la durée maximum de la tranche en ms, ou <b>0</b> pour ne pas la limiter
+     * @return la meilleure solution trouvée depuis le début, ou <b>null</b>
+     * @throws AlgorithmException si un problème survient
+     * @since 2013
+     * @see #iterer()
+     * @see #estTermine()
+     */
+    public Solution executerTranche(int nbIterationsMax, long dureeMaxMillis) throws AlgorithmException {
+        long debut = System.nanoTime();
+        int faites = 0;
+        while (!termine) {
+            termine = !iterer();
+            nbIterations++;
+            faites++;
+
+            if (nbIterationsMax > 0 && faites >= nbIterationsMax)
+                break;
+            if (dureeMaxMillis > 0 && System.nanoTime() - debut >= dureeMaxMillis * 1000000)
+                break;
+        }
+
+        return getMeilleureSolution();
+    }
+
+    /**
+     * <p>Indique si la dernière itération a terminé l'algorithme
+     * 
+     * @return <b>true</b> si l'algorithme est terminé
+     * @since 2013
+     * @see #executerTranche(int, long)
+     */
+    public boolean estTermine() {
+        return termine;
+    }
+
+    /**
+     * <p>Retourne le nombre d'itérations exécutées par {@link #executerTranche(int, long)}
+     * 
+     * @return le nombre d'itérations
+     * @since 2013
+     */
+    public int getNbIterations() {
+        return nbIterations;
+    }
+
+    /**
+     * <p>Retourne la meilleure solution trouvée
+     * 
+     * @return la solution de plus petite évaluation proposée, ou <b>null</b>
+     * @since 2013
+     * @see #proposerSolution(seisco.probleme.Solution, float)
+     */
+    public Solution getMeilleureSolution() {
+        return meilleureSolution;
+    }
+
+    /**
+     * <p>Retourne l'évaluation de la meilleure solution trouvée
+     * 
+     * @return l'évaluation, ou {@link Float#POSITIVE_INFINITY} si aucune solution n'a été proposée
+     * @since 2013
+     */
+    public float getMeilleureEvaluation() {
+        return meilleureEvaluation;
+    }
+
+    /**
+     * <p>Propose une solution, retenue si elle est meilleure (d'évaluation plus petite) que la meilleure connue
+     * 
+     * @param s la solution trouvée
+     * @param evaluation son évaluation
+     * @return <b>true</b> si la solution devient la meilleure
+     * @since 2013
+     */
+    protected boolean proposerSolution(Solution s, float evaluation) {
+        if (meilleureSolution != null && !(evaluation < meilleureEvaluation))
+            return false;
+
+        meilleureSolution = s;
+        meilleureEvaluation = evaluation;
+        return true;
+    }
+
+    /**
+     * <p>
+     * Indique si l'algorithme sait écrire son état dans un {@link PointReprise}.
+     * Un algorithme qui le peut redéfinit {@link #sauvegarderEtat(seisco.algo.PointReprise)}
+     * et {@link #restaurerEtat(seisco.algo.PointReprise)}, ainsi que cette méthode.
+     *
+     * @return <b>false</b> par défaut
+     * @since 2013
+     */
+    public boolean estSauvegardable() {
+        return false;
+    }
+
+    /**
+     * <p>Crée un point de reprise de l'exécution en cours, par exemple avant un déplacement
+     *
+     * @return le point de reprise
+     * @throws UnsupportedOperationException si l'algorithme n'est pas {@link #estSauvegardable() sauvegardable}
+     * @since 2013
+     */
+    public PointReprise creerPointReprise() {
+        PointReprise point = new PointReprise(getClass().getName());
+        point.setNbIterations(nbIterations);
+        point.setTermine(termine);
+        point.setMeilleureEvaluation(meilleureEvaluation);
+        sauvegarderEtat(point);
+        return point;
+    }
+
+    /**
+     * <p>
+     * Reprend l'exécution à un point de reprise. L'algorithme doit déjà
+     * disposer de son problème, dont les données immuables ont été
+     * rechargées et peuvent être vérifiées par
+     * {@link PointReprise#verifierReference(java.lang.String, long)}.
+     *
+     * @param point le point de reprise
+     * @throws IllegalArgumentException si le point de reprise vient d'un autre algorithme
+     * @since 2013
+     */
+    public void restaurer(PointReprise point) {
+        if (!getClass().getName().equals(point.getClasseAlgorithme()))
+            throw new IllegalArgumentException("Point de reprise de " + point.getClasseAlgorithme()
+                    + " et non de " + getClass().getName());
+
+        nbIterations = point.getNbIterations();
+        termine = point.estTermine();
+        meilleureSolution = null;
+        meilleureEvaluation = point.getMeilleureEvaluation();
+        restaurerEtat(point);
+    }
+
+    /**
+     * <p>
+     * Écrit l'état propre à l'algorithme : population, état du générateur
+     * aléatoire, codage de la meilleure solution et empreintes des données
+     * immuables. Le compteur d'itérations et la meilleure évaluation sont
+     * déjà écrits.
+     *
+     * @param point le point de reprise à compléter
+     * @throws UnsupportedOperationException par défaut
+     * @since 2013
+     */
+    protected void sauvegarderEtat(PointReprise point) {
+        throw new UnsupportedOperationException(getClass().getName() + " ne sait pas créer de point de reprise");
+    }
+
+    /**
+     * <p>Relit l'état écrit par {@link #sauvegarderEtat(seisco.algo.PointReprise)}, y compris la meilleure solution
+     *
+     * @param point le point de reprise
+     * @throws UnsupportedOperationException par défaut
+     * @since 2013
+     */
+    protected void restaurerEtat(PointReprise point) {
+        throw new UnsupportedOperationException(getClass().getName() + " ne sait pas reprendre un point de reprise");
+    }
+
     /**
      * <p>
      * Retourne sous forme de {@link String} la représentation de l'algorithme.
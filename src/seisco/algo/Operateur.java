@@ -1,6 +1,9 @@
 package seisco.algo;
 
 import jade.content.Concept;
+import seisco.probleme.Mouvement;
+import seisco.probleme.Probleme;
+import seisco.probleme.Solution;
 
 /**
  * <p>Représente un opérateur pour les {@link Algorithme}
@@ -21,4 +24,23 @@ public abstract class Operateur implements Concept {
      * @since 2008
      */
     public abstract Object[] operate(Object...operandes);
+
+    /**
+     * <p>
+     * Évalue un {@link Mouvement} de l'opérateur sur une {@link Solution}
+     * sans construire la solution voisine. Par défaut, délègue au problème ;
+     * un opérateur de recherche locale peut le redéfinir s'il connaît mieux
+     * la structure de ses mouvements.
+     * 
+     * @param probleme le problème à optimiser
+     * @param s la solution courante
+     * @param m le mouvement à évaluer
+     * @return la variation de la fonction « objectif »
+     * @throws UnsupportedOperationException si ni l'opérateur ni le problème ne savent évaluer le mouvement
+     * @since 2013
+     * @see Probleme#evaluerDelta(seisco.probleme.Solution, seisco.probleme.Mouvement)
+     */
+    public float evaluerDelta(Probleme probleme, Solution s, Mouvement m) {
+        return probleme.evaluerDelta(s, m);
+    }
 }
@@ -0,0 +1,356 @@
+package seisco.algo;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * État d'un {@link Algorithme} en cours d'exécution, sous une forme
+ * binaire compacte : compteur d'itérations, état du générateur aléatoire,
+ * population codée en <code>int[]</code> avec ses évaluations, et meilleure
+ * solution.
+ *
+ * <p>
+ * Les données volumineuses et immuables (graphe, distancier...) ne sont pas
+ * copiées : elles sont désignées par leur empreinte (par exemple
+ * {@link seisco.util.graphe.GrapheCompact#getEmpreinte()}) et rechargées à
+ * l'arrivée, puis vérifiées par {@link #verifierReference(java.lang.String, long)}.
+ * Lors d'un déplacement de l'AMC, seul le point de reprise voyage, au lieu
+ * de l'algorithme, de son problème et de son graphe sérialisés.
+ *
+ * <p>Format : <code>SCPR</code>, version, puis les champs dans l'ordre de {@link #ecrire(java.io.OutputStream)}.
+ *
+ * @version 2013
+ * @see Algorithme#creerPointReprise()
+ * @see seisco.util.GenerateurAleatoire
+ */
+public class PointReprise {
+
+    private static final int MAGIQUE = 0x53435052;
+    private static final int VERSION = 1;
+
+    private final String classeAlgorithme;
+    private int nbIterations;
+    private boolean termine;
+    private float meilleureEvaluation = Float.POSITIVE_INFINITY;
+    private int[] meilleure;
+    private boolean avecAlea;
+    private long etatAlea;
+    private int[][] population;
+    private float[] evaluations;
+    private final Map<String, Long> references = new LinkedHashMap<String, Long>();
+
+    /**
+     * <p>Instancie un point de reprise vide
+     *
+     * @param classeAlgorithme le nom de la classe de l'algorithme sauvegardé
+     * @since 2013
+     */
+    public PointReprise(String classeAlgorithme) {
+        this.classeAlgorithme = classeAlgorithme;
+    }
+
+    /**
+     * <p>Retourne le nom de la classe de l'algorithme sauvegardé
+     *
+     * @return le nom complet de la classe
+     * @since 2013
+     */
+    public String getClasseAlgorithme() {
+        return classeAlgorithme;
+    }
+
+    public int getNbIterations() {
+        return nbIterations;
+    }
+
+    public void setNbIterations(int nbIterations) {
+        this.nbIterations = nbIterations;
+    }
+
+    public boolean estTermine() {
+        return termine;
+    }
+
+    public void setTermine(boolean termine) {
+        this.termine = termine;
+    }
+
+    public float getMeilleureEvaluation() {
+        return meilleureEvaluation;
+    }
+
+    public void setMeilleureEvaluation(float meilleureEvaluation) {
+        this.meilleureEvaluation = meilleureEvaluation;
+    }
+
+    /**
+     * <p>Retourne le codage de la meilleure solution
+     *
+     * @return le codage fourni par l'algorithme, ou <b>null</b>
+     * @since 2013
+     */
+    public int[] getMeilleure() {
+        return meilleure;
+    }
+
+    /**
+     * <p>Remplace le codage de la meilleure solution (par exemple son tour géant)
+     *
+     * @param meilleure le codage, ou <b>null</b>
+     * @since 2013
+     */
+    public void setMeilleure(int[] meilleure) {
+        this.meilleure = meilleure;
+    }
+
+    /**
+     * <p>Indique si l'état d'un générateur aléatoire est sauvegardé
+     *
+     * @return <b>true</b> si {@link #setEtatAlea(long)} a été appelée
+     * @since 2013
+     */
+    public boolean avecAlea() {
+        return avecAlea;
+    }
+
+    /**
+     * <p>Retourne l'état du générateur aléatoire
+     *
+     * @return l'état, pour {@link seisco.util.GenerateurAleatoire#setEtat(long)}
+     * @since 2013
+     */
+    public long getEtatAlea() {
+        return etatAlea;
+    }
+
+    /**
+     * <p>Sauvegarde l'état du générateur aléatoire
+     *
+     * @param etatAlea l'état lu par {@link seisco.util.GenerateurAleatoire#getEtat()}
+     * @since 2013
+     */
+    public void setEtatAlea(long etatAlea) {
+        this.avecAlea = true;
+        this.etatAlea = etatAlea;
+    }
+
+    /**
+     * <p>Retourne la population
+     *
+     * @return le codage de chaque individu, ou <b>null</b>
+     * @since 2013
+     */
+    public int[][] getPopulation() {
+        return population;
+    }
+
+    /**
+     * <p>Retourne les évaluations de la population
+     *
+     * @return l'évaluation de chaque individu, ou <b>null</b>
+     * @since 2013
+     */
+    public float[] getEvaluations() {
+        return evaluations;
+    }
+
+    /**
+     * <p>Sauvegarde la population (ou les solutions de la colonie) et ses évaluations
+     *
+     * @param population le codage de chaque individu, partagé
+     * @param evaluations l'évaluation de chaque individu, ou <b>null</b> pour les recalculer à la reprise
+     * @throws IllegalArgumentException si les deux tableaux n'ont pas la même longueur
+     * @since 2013
+     */
+    public void setPopulation(int[][] population, float[] evaluations) {
+        if (population != null && evaluations != null && evaluations.length != population.length)
+            throw new IllegalArgumentException("Une évaluation par individu est attendue : "
+                    + evaluations.length + " pour " + population.length);
+
+        this.population = population;
+        this.evaluations = evaluations;
+    }
+
+    /**
+     * <p>Désigne une donnée immuable par son empreinte, au lieu de la copier
+     *
+     * @param nom le nom de la donnée (par exemple <code>graphe</code>)
+     * @param empreinte son empreinte
+     * @since 2013
+     */
+    public void ajouterReference(String nom, long empreinte) {
+        references.put(nom, empreinte);
+    }
+
+    /**
+     * <p>Retourne les données désignées par empreinte
+     *
+     * @return les empreintes par nom, non modifiables
+     * @since 2013
+     */
+    public Map<String, Long> getReferences() {
+        return Collections.unmodifiableMap(references);
+    }
+
+    /**
+     * <p>Vérifie qu'une donnée rechargée à la reprise est bien celle de la sauvegarde
+     *
+     * @param nom le nom de la donnée
+     * @param empreinte l'empreinte de la donnée rechargée
+     * @throws IllegalStateException si la donnée n'est pas référencée ou si les empreintes diffèrent
+     * @since 2013
+     */
+    public void verifierReference(String nom, long empreinte) {
+        Long attendue = references.get(nom);
+        if (attendue == null)
+            throw new IllegalStateException("Donnée non référencée par le point de reprise : " + nom);
+        if (attendue != empreinte)
+            throw new IllegalStateException("La donnée " + nom + " rechargée diffère de celle de la sauvegarde : "
+                    + Long.toHexString(empreinte) + " au lieu de " + Long.toHexString(attendue));
+    }
+
+    /**
+     * <p>Écrit le point de reprise
+     *
+     * @param sortie le flux de sortie, non fermé
+     * @throws IOException si l'écriture échoue
+     * @since 2013
+     */
+    public void ecrire(OutputStream sortie) throws IOException {
+        DataOutputStream out = new DataOutputStream(sortie);
+        out.writeInt(MAGIQUE);
+        out.writeInt(VERSION);
+        out.writeUTF(classeAlgorithme);
+        out.writeInt(nbIterations);
+        out.writeBoolean(termine);
+        out.writeFloat(meilleureEvaluation);
+        out.writeBoolean(avecAlea);
+        out.writeLong(etatAlea);
+
+        out.writeInt(references.size());
+        for (Map.Entry<String, Long> reference : references.entrySet()) {
+            out.writeUTF(reference.getKey());
+            out.writeLong(reference.getValue());
+        }
+
+        ecrireEntiers(out, meilleure);
+        out.writeInt(population == null ? -1 : population.length);
+        if (population != null)
+            for (int[] individu : population)
+                ecrireEntiers(out, individu);
+        out.writeInt(evaluations == null ? -1 : evaluations.length);
+        if (evaluations != null)
+            for (float evaluation : evaluations)
+                out.writeFloat(evaluation);
+
+        out.flush();
+    }
+
+    /**
+     * <p>Lit un point de reprise écrit par {@link #ecrire(java.io.OutputStream)}
+     *
+     * @param entree le flux d'entrée, non fermé
+     * @return le point de reprise
+     * @throws IOException si la lecture échoue ou si le format n'est pas reconnu
+     * @since 2013
+     */
+    public static PointReprise lire(InputStream entree) throws IOException {
+        DataInputStream in = new DataInputStream(entree);
+        if (in.readInt() != MAGIQUE)
+            throw new IOException("Ce n'est pas un point de reprise");
+        int version = in.readInt();
+        if (version != VERSION)
+            throw new IOException("Version de point de reprise non supportée : " + version);
+
+        PointReprise point = new PointReprise(in.readUTF());
+        point.nbIterations = in.readInt();
+        point.termine = in.readBoolean();
+        point.meilleureEvaluation = in.readFloat();
+        point.avecAlea = in.readBoolean();
+        point.etatAlea = in.readLong();
+
+        int nbReferences = in.readInt();
+        for (int r = 0; r < nbReferences; r++)
+            point.references.put(in.readUTF(), in.readLong());
+
+        point.meilleure = lireEntiers(in);
+        int taille = in.readInt();
+        if (taille >= 0) {
+            point.population = new int[taille][];
+            for (int i = 0; i < taille; i++)
+                point.population[i] = lireEntiers(in);
+        }
+        taille = in.readInt();
+        if (taille >= 0) {
+            point.evaluations = new float[taille];
+            for (int i = 0; i < taille; i++)
+                point.evaluations[i] = in.readFloat();
+        }
+
+        return point;
+    }
+
+    /**
+     * <p>Retourne le point de reprise sous forme d'octets, par exemple pour un message ACL
+     *
+     * @return les octets du point de reprise
+     * @since 2013
+     */
+    public byte[] toOctets() {
+        ByteArrayOutputStream octets = new ByteArrayOutputStream();
+        try {
+            ecrire(octets);
+        } catch (IOException ex) {
+            // Impossible en mémoire
+            throw new IllegalStateException(ex);
+        }
+
+        return octets.toByteArray();
+    }
+
+    /**
+     * <p>Lit un point de reprise depuis des octets produits par {@link #toOctets()}
+     *
+     * @param octets les octets
+     * @return le point de reprise
+     * @throws IOException si le format n'est pas reconnu
+     * @since 2013
+     */
+    public static PointReprise depuisOctets(byte[] octets) throws IOException {
+        return lire(new ByteArrayInputStream(octets));
+    }
+
+    private static void ecrireEntiers(DataOutputStream out, int[] valeurs) throws IOException {
+        out.writeInt(valeurs == null ? -1 : valeurs.length);
+        if (valeurs != null)
+            for (int valeur : valeurs)
+                out.writeInt(valeur);
+    }
+
+    private static int[] lireEntiers(DataInputStream in) throws IOException {
+        int taille = in.readInt();
+        if (taille < 0)
+            return null;
+
+        int[] valeurs = new int[taille];
+        for (int i = 0; i < taille; i++)
+            valeurs[i] = in.readInt();
+        return valeurs;
+    }
+
+    @Override
+    public String toString() {
+        return "PointReprise[" + classeAlgorithme + ", itération " + nbIterations + ", meilleure "
+                + meilleureEvaluation + ", " + (population == null ? 0 : population.length) + " individus, références "
+                + references.keySet() + "]";
+    }
+}
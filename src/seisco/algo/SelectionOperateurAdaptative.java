@@ -0,0 +1,255 @@
+package seisco.algo;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * <p>
+ * Choisit à chaque application l'{@link Operateur} à utiliser parmi
+ * plusieurs (par exemple les croisements <code>lox</code>, <code>ox</code>
+ * et <code>x1</code> de <code>carpgen</code>), en favorisant ceux qui
+ * rapportent le plus sur l'instance en cours.
+ *
+ * <p>
+ * La récompense d'une application est le gain de la fonction « objectif »
+ * par milliseconde de calcul, et la sélection suit la poursuite adaptative
+ * (« adaptive pursuit », Thierens 2005) :
+ * <ul>
+ *  <li>la qualité de l'opérateur appliqué tend vers sa récompense :
+ *      <code>q += alpha × (r - q)</code> ;</li>
+ *  <li>la probabilité de l'opérateur de meilleure qualité tend vers
+ *      <code>pMax = 1 - (K-1) × pMin</code>, celles des autres vers
+ *      <code>pMin</code>, à la vitesse <code>beta</code>.</li>
+ * </ul>
+ * Quand plusieurs opérateurs sont ex aequo en tête, par exemple tant
+ * qu'aucune application n'a amélioré la solution, ils se partagent à
+ * parts égales la probabilité laissée par les autres.
+ * Chaque opérateur garde au moins la probabilité <code>pMin</code> : un
+ * opérateur délaissé peut regagner la tête si l'instance change de
+ * comportement au cours de la recherche.
+ *
+ * <pre>
+ * int k = selection.choisir(alea);
+ * long debut = System.nanoTime();
+ * ... appliquer selection.getOperateur(k) et évaluer l'enfant ...
+ * selection.recompenser(k, evaluationParent - evaluationEnfant, System.nanoTime() - debut);
+ * </pre>
+ *
+ * @param <T> le type des opérateurs
+ * @version 2013
+ * @see Algorithme#getOperateurs()
+ */
+public class SelectionOperateurAdaptative<T extends Operateur> implements Serializable {
+
+    /**
+     * <p>Vitesse d'adaptation des qualités par défaut
+     */
+    public static final double ALPHA = 0.3;
+
+    /**
+     * <p>Vitesse d'adaptation des probabilités par défaut
+     */
+    public static final double BETA = 0.3;
+
+    private final List<T> operateurs;
+    private final double pMin;
+    private final double pMax;
+    private final double alpha;
+    private final double beta;
+
+    private final double[] probabilites;
+    private final double[] qualites;
+    private final long[] nbApplications;
+    private final long[] nanos;
+
+    /**
+     * <p>Instancie une sélection adaptative avec les paramètres par défaut et <code>pMin = 0,2 / K</code>
+     *
+     * @param operateurs les opérateurs entre lesquels choisir
+     * @throws IllegalArgumentException si la liste est vide
+     * @since 2013
+     */
+    public SelectionOperateurAdaptative(List<? extends T> operateurs) {
+        this(operateurs, 0.2 / Math.max(1, operateurs.size()), ALPHA, BETA);
+    }
+
+    /**
+     * <p>Instancie une sélection adaptative
+     *
+     * @param operateurs les opérateurs entre lesquels choisir
+     * @param pMin la probabilité minimale de chaque opérateur, inférieure à <code>1 / K</code>
+     * @param alpha la vitesse d'adaptation des qualités, entre 0 et 1
+     * @param beta la vitesse d'adaptation des probabilités, entre 0 et 1
+     * @throws IllegalArgumentException si la liste est vide ou si un paramètre sort de son domaine
+     * @since 2013
+     */
+    public SelectionOperateurAdaptative(List<? extends T> operateurs, double pMin, double alpha, double beta) {
+        int k = operateurs.size();
+        if (k == 0)
+            throw new IllegalArgumentException("Aucun opérateur à sélectionner");
+        if (pMin < 0 || pMin * k > 1)
+            throw new IllegalArgumentException("Probabilité minimale hors domaine : " + pMin);
+        if (alpha <= 0 || alpha > 1 || beta <= 0 || beta > 1)
+            throw new IllegalArgumentException("Vitesses d'adaptation hors de ]0, 1] : " + alpha + ", " + beta);
+
+        this.operateurs = new ArrayList<T>(operateurs);
+        this.pMin = pMin;
+        this.pMax = 1 - (k - 1) * pMin;
+        this.alpha = alpha;
+        this.beta = beta;
+
+        this.probabilites = new double[k];
+        this.qualites = new double[k];
+        this.nbApplications = new long[k];
+        this.nanos = new long[k];
+        Arrays.fill(probabilites, 1.0 / k);
+    }
+
+    /**
+     * <p>Retourne le nombre d'opérateurs
+     *
+     * @return le nombre d'opérateurs
+     * @since 2013
+     */
+    public int getNbOperateurs() {
+        return operateurs.size();
+    }
+
+    /**
+     * <p>Retourne un opérateur
+     *
+     * @param indice l'indice de l'opérateur, dans l'ordre de la liste fournie
+     * @return l'opérateur
+     * @since 2013
+     */
+    public T getOperateur(int indice) {
+        return operateurs.get(indice);
+    }
+
+    /**
+     * <p>Tire un opérateur selon les probabilités courantes
+     *
+     * @param alea le générateur aléatoire
+     * @return l'indice de l'opérateur tiré
+     * @since 2013
+     */
+    public synchronized int choisir(Random alea) {
+        double tirage = alea.nextDouble();
+        int dernier = probabilites.length - 1;
+        for (int i = 0; i < dernier; i++) {
+            tirage -= probabilites[i];
+            if (tirage < 0)
+                return i;
+        }
+
+        return dernier;
+    }
+
+    /**
+     * <p>
+     * Enregistre le résultat d'une application d'opérateur et fait évoluer
+     * les probabilités. Un gain négatif (solution dégradée) compte pour 0.
+     *
+     * @param indice l'indice de l'opérateur appliqué
+     * @param gain l'amélioration de la fonction « objectif » obtenue
+     * @param duree la durée de l'application et de l'évaluation, en nanosecondes
+     * @since 2013
+     */
+    public synchronized void recompenser(int indice, float gain, long duree) {
+        nbApplications[indice]++;
+        nanos[indice] += Math.max(0, duree);
+
+        // Gain par milliseconde ; une durée nulle (horloge grossière) compte pour une microseconde
+        double recompense = Math.max(0, gain) / (Math.max(1000, duree) / 1e6);
+        qualites[indice] += alpha * (recompense - qualites[indice]);
+
+        // Les ex aequo en tête se partagent la cible : sans écart de qualité, aucun n'est favorisé
+        double qualiteMax = qualites[0];
+        for (int i = 1; i < qualites.length; i++)
+            qualiteMax = Math.max(qualiteMax, qualites[i]);
+
+        int nbMeilleurs = 0;
+        for (double qualite : qualites)
+            if (qualite == qualiteMax)
+                nbMeilleurs++;
+
+        int k = probabilites.length;
+        double cibleMeilleurs = (1 - (k - nbMeilleurs) * pMin) / nbMeilleurs;
+        for (int i = 0; i < k; i++) {
+            double cible = (qualites[i] == qualiteMax) ? cibleMeilleurs : pMin;
+            probabilites[i] += beta * (cible - probabilites[i]);
+        }
+    }
+
+    /**
+     * <p>Retourne la probabilité courante de tirer un opérateur
+     *
+     * @param indice l'indice de l'opérateur
+     * @return la probabilité, entre <code>pMin</code> et <code>pMax</code>
+     * @since 2013
+     */
+    public synchronized double getProbabilite(int indice) {
+        return probabilites[indice];
+    }
+
+    /**
+     * <p>Retourne la qualité estimée d'un opérateur
+     *
+     * @param indice l'indice de l'opérateur
+     * @return la moyenne glissante du gain par milliseconde
+     * @since 2013
+     */
+    public synchronized double getQualite(int indice) {
+        return qualites[indice];
+    }
+
+    /**
+     * <p>Retourne le nombre d'applications d'un opérateur
+     *
+     * @param indice l'indice de l'opérateur
+     * @return le nombre de récompenses enregistrées
+     * @since 2013
+     */
+    public synchronized long getNbApplications(int indice) {
+        return nbApplications[indice];
+    }
+
+    /**
+     * <p>Retourne le temps de calcul consommé par un opérateur
+     *
+     * @param indice l'indice de l'opérateur
+     * @return la somme des durées enregistrées, en nanosecondes
+     * @since 2013
+     */
+    public synchronized long getTempsNanos(int indice) {
+        return nanos[indice];
+    }
+
+    /**
+     * <p>Remet toutes les probabilités et qualités à leur valeur initiale, par exemple au changement d'instance
+     *
+     * @since 2013
+     */
+    public synchronized void reinitialiser() {
+        Arrays.fill(probabilites, 1.0 / probabilites.length);
+        Arrays.fill(qualites, 0);
+        Arrays.fill(nbApplications, 0);
+        Arrays.fill(nanos, 0);
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder resultat = new StringBuilder("SelectionOperateurAdaptative[");
+        for (int i = 0; i < operateurs.size(); i++) {
+            if (i > 0)
+                resultat.append(", ");
+            resultat.append(operateurs.get(i).getClass().getSimpleName())
+                    .append(String.format(" p=%.2f n=%d", probabilites[i], nbApplications[i]));
+        }
+
+        return resultat.append("]").toString();
+    }
+}
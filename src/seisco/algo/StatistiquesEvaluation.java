@@ -0,0 +1,142 @@
+package seisco.algo;
+
+import java.io.Serializable;
+import seisco.util.HistogrammeLatence;
+
+/**
+ * <p>
+ * Mesures des évaluations de solutions d'un {@link Algorithme} : nombre
+ * d'évaluations, histogramme de leurs durées et débit en évaluations par
+ * seconde depuis le début de la mesure.
+ *
+ * <p>
+ * Les durées sont prises par {@link System#nanoTime()} autour de chaque
+ * appel ; les évaluations de moins d'une milliseconde, la majorité, sont
+ * donc comptées. Les statistiques sont sérialisables pour être transmises
+ * par l'AMC (voir {@link seisco.comportement.amc.PresenterStatistiques}).
+ *
+ * @version 2013
+ * @see Algorithme#getStatistiques()
+ */
+public class StatistiquesEvaluation implements Serializable {
+
+    private final HistogrammeLatence latences;
+    private long debut;
+
+    /**
+     * <p>Instancie des statistiques vides, dont la mesure commence immédiatement
+     *
+     * @since 2013
+     */
+    public StatistiquesEvaluation() {
+        this.latences = new HistogrammeLatence();
+        this.debut = System.currentTimeMillis();
+    }
+
+    /**
+     * <p>Enregistre une évaluation
+     *
+     * @param nanos la durée de l'évaluation, en nanosecondes
+     * @since 2013
+     */
+    public void enregistrer(long nanos) {
+        latences.enregistrer(nanos);
+    }
+
+    /**
+     * <p>
+     * Enregistre un lot d'évaluations dont seule la durée totale est connue :
+     * chacune compte pour la durée moyenne du lot. Pour un lot évalué en
+     * parallèle, c'est le coût apparent d'une évaluation, plus faible que sa
+     * durée réelle.
+     *
+     * @param nbEvaluations le nombre d'évaluations du lot
+     * @param nanos la durée du lot, en nanosecondes
+     * @since 2013
+     */
+    public void enregistrerLot(int nbEvaluations, long nanos) {
+        if (nbEvaluations > 0)
+            latences.enregistrer(nanos / nbEvaluations, nbEvaluations);
+    }
+
+    /**
+     * <p>Retourne le nombre d'évaluations enregistrées
+     *
+     * @return le nombre d'évaluations
+     * @since 2013
+     */
+    public long getNbEvaluations() {
+        return latences.getNombre();
+    }
+
+    /**
+     * <p>Retourne le temps total passé à évaluer
+     *
+     * @return la somme des durées d'évaluation, en nanosecondes
+     * @since 2013
+     */
+    public long getTempsTotalNanos() {
+        return latences.getSomme();
+    }
+
+    /**
+     * <p>Retourne l'histogramme des durées d'évaluation
+     *
+     * @return l'histogramme, en nanosecondes
+     * @since 2013
+     */
+    public HistogrammeLatence getLatences() {
+        return latences;
+    }
+
+    /**
+     * <p>Retourne la durée écoulée depuis le début de la mesure
+     *
+     * @return la durée, en millisecondes
+     * @since 2013
+     */
+    public long getDureeMillis() {
+        return System.currentTimeMillis() - debut;
+    }
+
+    /**
+     * <p>Retourne le débit d'évaluation depuis le début de la mesure
+     *
+     * @return le nombre d'évaluations par seconde de temps écoulé
+     * @since 2013
+     */
+    public double getEvaluationsParSeconde() {
+        long duree = Math.max(1, getDureeMillis());
+        return getNbEvaluations() * 1000.0 / duree;
+    }
+
+    /**
+     * <p>
+     * Retourne la part du temps écoulé passée à évaluer ; une part faible
+     * indique que le temps est perdu ailleurs, par exemple en messages.
+     *
+     * @return le temps d'évaluation rapporté au temps écoulé, supérieur à 1
+     *  si des évaluations ont eu lieu en parallèle
+     * @since 2013
+     */
+    public double getPartEvaluation() {
+        long duree = Math.max(1, getDureeMillis());
+        return getTempsTotalNanos() / (duree * 1e6);
+    }
+
+    /**
+     * <p>Efface les mesures et recommence la mesure du débit
+     *
+     * @since 2013
+     */
+    public void reinitialiser() {
+        latences.reinitialiser();
+        debut = System.currentTimeMillis();
+    }
+
+    @Override
+    public String toString() {
+        return "StatistiquesEvaluation[" + getNbEvaluations() + " évaluations, "
+                + (long) getEvaluationsParSeconde() + " éval/s, " + latences + "]";
+    }
+}
@@ -0,0 +1,48 @@
+package seisco.algo.permutation;
+
+import java.util.Random;
+
+/**
+ * <p>
+ * Croisement ordonné linéaire (LOX) : l'enfant reçoit le segment
+ * <code>[a, b]</code> du père aux mêmes positions ; les autres positions
+ * sont remplies de gauche à droite avec les éléments de la mère dans leur
+ * ordre. Contrairement à {@link CroisementOX}, le tour n'est pas considéré
+ * comme circulaire, ce qui convient au tour géant partant du dépôt.
+ *
+ * @version 2013
+ */
+public class CroisementLOX extends CroisementPermutation {
+
+    @Override
+    public void croiser(int[] pere, int[] mere, int[] enfant, Random alea, TamponsPermutation tampons) {
+        int n = pere.length;
+        if (n < 2) {
+            System.arraycopy(pere, 0, enfant, 0, n);
+            return;
+        }
+
+        int a = alea.nextInt(n), b = alea.nextInt(n);
+        if (a > b) {
+            int c = a;
+            a = b;
+            b = c;
+        }
+
+        tampons.preparer(n);
+        for (int k = a; k <= b; k++) {
+            enfant[k] = pere[k];
+            tampons.marquer(pere[k]);
+        }
+
+        int position = (a == 0) ? b + 1 : 0;
+        for (int k = 0; k < n; k++) {
+            int element = mere[k];
+            if (!tampons.estMarque(element)) {
+                enfant[position++] = element;
+                if (position == a)
+                    position = b + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package seisco.algo.permutation;
+
+import java.util.Random;
+
+/**
+ * <p>
+ * Croisement ordonné (OX) : l'enfant reçoit le segment <code>[a, b]</code>
+ * du père aux mêmes positions ; les autres positions sont remplies
+ * circulairement à partir de <code>b+1</code>, avec les éléments de la mère
+ * dans son ordre circulaire à partir de <code>b+1</code>.
+ *
+ * @version 2013
+ * @see CroisementLOX
+ */
+public class CroisementOX extends CroisementPermutation {
+
+    @Override
+    public void croiser(int[] pere, int[] mere, int[] enfant, Random alea, TamponsPermutation tampons) {
+        int n = pere.length;
+        if (n < 2) {
+            System.arraycopy(pere, 0, enfant, 0, n);
+            return;
+        }
+
+        int a = alea.nextInt(n), b = alea.nextInt(n);
+        if (a > b) {
+            int c = a;
+            a = b;
+            b = c;
+        }
+
+        tampons.preparer(n);
+        for (int k = a; k <= b; k++) {
+            enfant[k] = pere[k];
+            tampons.marquer(pere[k]);
+        }
+
+        int position = (b + 1) % n;
+        for (int k = 0; k < n; k++) {
+            int element = mere[(b + 1 + k) % n];
+            if (!tampons.estMarque(element)) {
+                enfant[position] = element;
+                position = (position + 1) % n;
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package seisco.algo.permutation;
+
+import java.util.Random;
+import seisco.algo.Operateur;
+
+/**
+ * <p>
+ * Opérateur de croisement sur des permutations des entiers
+ * <code>0..n-1</code>, par exemple le codage en tour géant d'une solution
+ * CARP. L'enfant est écrit dans un tableau fourni par l'appelant, et les
+ * tableaux de travail sont pris dans un {@link TamponsPermutation} : un
+ * croisement n'alloue rien.
+ *
+ * <p>
+ * {@link #operate(java.lang.Object[])} reste disponible pour le code qui
+ * manipule des {@link Operateur} génériques, au prix d'une allocation par
+ * appel ; à l'inverse, {@link #adapter(seisco.algo.Operateur)} permet
+ * d'utiliser un {@link Operateur} existant à travers cette interface.
+ *
+ * @version 2013
+ * @see MutationPermutation
+ */
+public abstract class CroisementPermutation extends Operateur {
+
+    private Random alea = new Random();
+
+    /**
+     * <p>Croise deux parents
+     *
+     * @param pere le premier parent, non modifié
+     * @param mere le second parent, non modifié
+     * @param enfant le tableau recevant l'enfant, de même taille que les parents
+     * @param alea le générateur aléatoire
+     * @param tampons les tableaux de travail
+     * @since 2013
+     */
+    public abstract void croiser(int[] pere, int[] mere, int[] enfant, Random alea, TamponsPermutation tampons);
+
+    /**
+     * <p>Croise deux parents en allouant l'enfant, pour l'interface générique des {@link Operateur}
+     *
+     * @param operandes le père et la mère (<code>int[]</code>), puis éventuellement un {@link Random}
+     * @return un tableau contenant l'enfant
+     * @since 2013
+     */
+    @Override
+    public Object[] operate(Object... operandes) {
+        int[] pere = (int[]) operandes[0];
+        int[] mere = (int[]) operandes[1];
+        Random r = (operandes.length > 2) ? (Random) operandes[2] : alea;
+
+        int[] enfant = new int[pere.length];
+        croiser(pere, mere, enfant, r, new TamponsPermutation(pere.length));
+        return new Object[] { enfant };
+    }
+
+    /**
+     * <p>Retourne le croisement correspondant à un nom de la configuration (<code>carpgen.operateur.croisement</code>)
+     *
+     * @param nom <code>lox</code>, <code>ox</code> ou <code>x1</code>
+     * @return le croisement
+     * @throws IllegalArgumentException si le nom est inconnu
+     * @since 2013
+     */
+    public static CroisementPermutation parNom(String nom) {
+        switch (nom.toLowerCase()) {
+            case "lox":
+                return new CroisementLOX();
+            case "ox":
+                return new CroisementOX();
+            case "x1":
+                return new CroisementX1();
+            default:
+                throw new IllegalArgumentException("Croisement inconnu : " + nom);
+        }
+    }
+
+    /**
+     * <p>
+     * Présente un {@link Operateur} existant, qui reçoit deux <code>int[]</code>
+     * et retourne l'enfant en première position, comme un croisement sur
+     * permutations. L'enfant retourné est recopié dans le tableau fourni.
+     *
+     * @param operateur l'opérateur à adapter
+     * @return le croisement, ou l'opérateur lui-même s'il en est déjà un
+     * @since 2013
+     */
+    public static CroisementPermutation adapter(Operateur operateur) {
+        if (operateur instanceof CroisementPermutation)
+            return (CroisementPermutation) operateur;
+
+        return new Adaptateur(operateur);
+    }
+
+    /**
+     * <p>Croisement délégué à un {@link Operateur} générique
+     */
+    private static class Adaptateur extends CroisementPermutation {
+        private final Operateur operateur;
+
+        Adaptateur(Operateur operateur) {
+            this.operateur = operateur;
+        }
+
+        @Override
+        public void croiser(int[] pere, int[] mere, int[] enfant, Random alea, TamponsPermutation tampons) {
+            int[] resultat = (int[]) operateur.operate(pere, mere)[0];
+            System.arraycopy(resultat, 0, enfant, 0, enfant.length);
+        }
+
+        @Override
+        public Object[] operate(Object... operandes) {
+            return operateur.operate(operandes);
+        }
+    }
+}
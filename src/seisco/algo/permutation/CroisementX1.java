@@ -0,0 +1,30 @@
+package seisco.algo.permutation;
+
+import java.util.Random;
+
+/**
+ * <p>
+ * Croisement à un point (X1) : l'enfant reçoit les <code>c</code> premiers
+ * éléments du père, puis les éléments restants dans l'ordre de la mère.
+ *
+ * @version 2013
+ */
+public class CroisementX1 extends CroisementPermutation {
+
+    @Override
+    public void croiser(int[] pere, int[] mere, int[] enfant, Random alea, TamponsPermutation tampons) {
+        int n = pere.length;
+        int coupure = (n < 2) ? n : 1 + alea.nextInt(n - 1);
+
+        tampons.preparer(n);
+        for (int k = 0; k < coupure; k++) {
+            enfant[k] = pere[k];
+            tampons.marquer(pere[k]);
+        }
+
+        int position = coupure;
+        for (int k = 0; k < n && position < n; k++)
+            if (!tampons.estMarque(mere[k]))
+                enfant[position++] = mere[k];
+    }
+}
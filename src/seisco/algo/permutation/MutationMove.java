@@ -0,0 +1,32 @@
+package seisco.algo.permutation;
+
+import java.util.Random;
+
+/**
+ * <p>
+ * Mutation par déplacement : un élément tiré au hasard est retiré et
+ * réinséré à une autre position, les éléments intermédiaires étant décalés.
+ *
+ * @version 2013
+ * @see seisco.probleme.Mouvement#INSERTION
+ */
+public class MutationMove extends MutationPermutation {
+
+    @Override
+    public void muter(int[] individu, Random alea) {
+        int n = individu.length;
+        if (n < 2)
+            return;
+
+        int i = alea.nextInt(n), j = alea.nextInt(n - 1);
+        if (j >= i)
+            j++;
+
+        int element = individu[i];
+        if (i < j)
+            System.arraycopy(individu, i + 1, individu, i, j - i);
+        else
+            System.arraycopy(individu, j, individu, j + 1, i - j);
+        individu[j] = element;
+    }
+}
@@ -0,0 +1,104 @@
+package seisco.algo.permutation;
+
+import java.util.Random;
+import seisco.algo.Operateur;
+
+/**
+ * <p>
+ * Opérateur de mutation modifiant sur place une permutation, sans
+ * allocation.
+ *
+ * <p>
+ * Comme pour {@link CroisementPermutation}, {@link #operate(java.lang.Object[])}
+ * reste disponible pour l'interface générique des {@link Operateur}, et
+ * {@link #adapter(seisco.algo.Operateur)} présente un {@link Operateur}
+ * existant comme une mutation.
+ *
+ * @version 2013
+ */
+public abstract class MutationPermutation extends Operateur {
+
+    private Random alea = new Random();
+
+    /**
+     * <p>Mute une permutation sur place
+     *
+     * @param individu la permutation à modifier
+     * @param alea le générateur aléatoire
+     * @since 2013
+     */
+    public abstract void muter(int[] individu, Random alea);
+
+    /**
+     * <p>Mute une copie de la permutation, pour l'interface générique des {@link Operateur}
+     *
+     * @param operandes la permutation (<code>int[]</code>), puis éventuellement un {@link Random}
+     * @return un tableau contenant la permutation mutée
+     * @since 2013
+     */
+    @Override
+    public Object[] operate(Object... operandes) {
+        int[] individu = ((int[]) operandes[0]).clone();
+        muter(individu, (operandes.length > 1) ? (Random) operandes[1] : alea);
+        return new Object[] { individu };
+    }
+
+    /**
+     * <p>Retourne la mutation correspondant à un nom de la configuration (<code>carpgen.operateur.mutation</code>)
+     *
+     * @param nom <code>move</code> ou <code>swap</code>
+     * @return la mutation
+     * @throws IllegalArgumentException si le nom est inconnu
+     * @since 2013
+     */
+    public static MutationPermutation parNom(String nom) {
+        switch (nom.toLowerCase()) {
+            case "move":
+                return new MutationMove();
+            case "swap":
+                return new MutationSwap();
+            default:
+                throw new IllegalArgumentException("Mutation inconnue : " + nom);
+        }
+    }
+
+    /**
+     * <p>
+     * Présente un {@link Operateur} existant, qui reçoit un <code>int[]</code>
+     * et retourne la permutation mutée en première position, comme une
+     * mutation sur place.
+     *
+     * @param operateur l'opérateur à adapter
+     * @return la mutation, ou l'opérateur lui-même s'il en est déjà une
+     * @since 2013
+     */
+    public static MutationPermutation adapter(Operateur operateur) {
+        if (operateur instanceof MutationPermutation)
+            return (MutationPermutation) operateur;
+
+        return new Adaptateur(operateur);
+    }
+
+    /**
+     * <p>Mutation déléguée à un {@link Operateur} générique
+     */
+    private static class Adaptateur extends MutationPermutation {
+        private final Operateur operateur;
+
+        Adaptateur(Operateur operateur) {
+            this.operateur = operateur;
+        }
+
+        @Override
+        public void muter(int[] individu, Random alea) {
+            int[] resultat = (int[]) operateur.operate(individu)[0];
+            if (resultat != individu)
+                System.arraycopy(resultat, 0, individu, 0, individu.length);
+        }
+
+        @Override
+        public Object[] operate(Object... operandes) {
+            return operateur.operate(operandes);
+        }
+    }
+}
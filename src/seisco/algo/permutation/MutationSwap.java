@@ -0,0 +1,27 @@
+package seisco.algo.permutation;
+
+import java.util.Random;
+
+/**
+ * <p>Mutation par échange de deux éléments tirés au hasard
+ *
+ * @version 2013
+ * @see seisco.probleme.Mouvement#ECHANGE
+ */
+public class MutationSwap extends MutationPermutation {
+
+    @Override
+    public void muter(int[] individu, Random alea) {
+        int n = individu.length;
+        if (n < 2)
+            return;
+
+        int i = alea.nextInt(n), j = alea.nextInt(n - 1);
+        if (j >= i)
+            j++;
+
+        int element = individu[i];
+        individu[i] = individu[j];
+        individu[j] = element;
+    }
+}
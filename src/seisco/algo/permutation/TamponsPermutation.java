@@ -0,0 +1,76 @@
+package seisco.algo.permutation;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Tableaux de travail des opérateurs sur permutations, fournis par
+ * l'appelant et réutilisés d'un appel à l'autre : une exécution entière
+ * d'un algorithme génétique n'alloue ainsi aucun tableau temporaire.
+ *
+ * <p>
+ * Les éléments marqués sont repérés par un numéro de passage plutôt
+ * qu'effacés : {@link #preparer(int)} coûte O(1) et non O(n).
+ * Une instance ne doit servir qu'à un thread à la fois.
+ *
+ * @version 2013
+ * @see CroisementPermutation
+ */
+public class TamponsPermutation {
+
+    private int[] marques;
+    private int passage;
+
+    /**
+     * <p>Instancie des tampons pour des permutations de taille donnée
+     *
+     * @param taille la taille des permutations, agrandie au besoin
+     * @since 2013
+     */
+    public TamponsPermutation(int taille) {
+        this.marques = new int[taille];
+        this.passage = 0;
+    }
+
+    /**
+     * <p>Démarque tous les éléments, avant un nouvel appel d'opérateur
+     *
+     * @param taille la taille de la permutation à traiter
+     * @since 2013
+     */
+    public void preparer(int taille) {
+        if (marques.length < taille)
+            marques = new int[taille];
+
+        if (++passage == 0) {
+            Arrays.fill(marques, 0);
+            passage = 1;
+        }
+    }
+
+    /**
+     * <p>Marque un élément
+     *
+     * @param element l'élément, entre 0 et taille-1
+     * @return <b>false</b> si l'élément était déjà marqué
+     * @since 2013
+     */
+    public boolean marquer(int element) {
+        if (marques[element] == passage)
+            return false;
+
+        marques[element] = passage;
+        return true;
+    }
+
+    /**
+     * <p>Indique si un élément est marqué depuis le dernier {@link #preparer(int)}
+     *
+     * @param element l'élément, entre 0 et taille-1
+     * @return <b>true</b> si l'élément est marqué
+     * @since 2013
+     */
+    public boolean estMarque(int element) {
+        return marques[element] == passage;
+    }
+}
@@ -0,0 +1,85 @@
+package seisco.comportement.amc;
+
+import jade.core.behaviours.SimpleBehaviour;
+import seisco.agent.AgentMobileCalcul;
+import seisco.algo.AlgorithmException;
+import seisco.algo.Algorithme;
+import seisco.probleme.Solution;
+
+/**
+ * <p>Ce comportement exécute l'algorithme de l'AMC par tranches bornées en nombre d'itérations et en durée.
+ * <p>Entre deux tranches, il rend la main aux autres comportements : l'AMC reste disponible pour
+ * présenter sa solution, ses statistiques ou se déplacer. La meilleure solution est placée en cache
+ * après chaque tranche, et l'état <b>finExecution</b> passe à <code>true</code> à la fin de l'algorithme.
+ * <p>Rien n'est exécuté tant que l'AMC n'est pas initialisé ou qu'il est en cours de déplacement.
+ * 
+ * @version 2013
+ * @see Algorithme#executerTranche(int, long)
+ * @see FinExecution
+ */
+public class ExecuterAlgorithme extends SimpleBehaviour {
+    
+    /**
+     * <p>Durée par défaut d'une tranche, en ms
+     */
+    public static final long DUREE_TRANCHE = 200;
+    
+    private AgentMobileCalcul amc;
+    private int nbIterations;
+    private long dureeMillis;
+    private boolean fini;
+    
+    public ExecuterAlgorithme(AgentMobileCalcul a) {
+        this(a, 0, DUREE_TRANCHE);
+    }
+    
+    /**
+     * <p>Instancie le comportement avec un budget par tranche.
+     * 
+     * @param a L'AMC exécutant l'algorithme
+     * @param nbIterations Le nombre maximum d'itérations par tranche, ou <code>0</code> pour ne pas le limiter
+     * @param dureeMillis La durée maximum d'une tranche en ms, ou <code>0</code> pour ne pas la limiter
+     * @since 2013
+     */
+    public ExecuterAlgorithme(AgentMobileCalcul a, int nbIterations, long dureeMillis) {
+        super(a);
+        this.amc = a;
+        this.nbIterations = nbIterations;
+        this.dureeMillis = dureeMillis;
+        this.fini = false;
+    }
+    
+    @Override
+    public void action() {
+        Algorithme algo = amc.getAlgo();
+        if(algo == null || !amc.isInit() || (Boolean)amc.getEtat("deplacement").getValeur()) {
+            block(500);
+            return;
+        }
+        
+        try {
+            Solution meilleure = algo.executerTranche(nbIterations, dureeMillis);
+            amc.setCurrentGeneration(algo.getNbIterations());
+            
+            if(meilleure != null && meilleure != amc.getCacheSolution()) {
+                amc.setEtat("updateSolution", true);
+                amc.setCacheSolution(meilleure);
+                amc.setEtat("updateSolution", false);
+            }
+            
+            fini = algo.estTermine();
+        } catch(AlgorithmException ex) {
+            amc.println("Erreur: Exécution de l'algorithme interrompue\n\t(Raison: "+ex.getMessage()+")");
+            fini = true;
+        }
+        
+        if(fini)
+            amc.setEtat("finExecution", true);
+    }
+
+    @Override
+    public boolean done() {
+        return fini;
+    }
+
+}
@@ -0,0 +1,62 @@
+package seisco.comportement.amc;
+
+import jade.core.behaviours.CyclicBehaviour;
+import jade.lang.acl.ACLMessage;
+import jade.lang.acl.MessageTemplate;
+import seisco.agent.AgentMobileCalcul;
+import seisco.algo.StatistiquesEvaluation;
+import seisco.util.ObjectCodec;
+import seisco.util.MessageHelper;
+
+/**
+ * <p>Ce comportement à pour rôle de répondre aux demandes de statistiques d'évaluation en provenance de l'AME et de l'ATE.
+ * <p>Les statistiques permettent de savoir si une exécution lente est due à l'évaluation des solutions ou aux échanges de messages.
+ * <p>ACLMessage ID utilisé :
+ * <p>ID_RECUP_AMC_STATISTIQUES
+ * 
+ * @version 2013
+ * @see seisco.comportement.ate.RecupererStatistiques
+ * @see StatistiquesEvaluation
+ */
+public class PresenterStatistiques extends CyclicBehaviour {
+    
+    private AgentMobileCalcul amc;
+    
+    public PresenterStatistiques(AgentMobileCalcul a) {
+        super(a);
+        this.amc = a;
+    }
+    
+    @Override
+    public void action() {
+        MessageTemplate mt = MessageTemplate.MatchConversationId(MessageHelper.ID_RECUP_AMC_STATISTIQUES);
+        ACLMessage msgRecu = amc.receive(mt);
+        if(msgRecu != null) {
+            MessageHelper rep = new MessageHelper();
+            
+            if(msgRecu.getPerformative() == ACLMessage.QUERY_IF && "getStatistiques".equals(msgRecu.getContent())) {
+                StatistiquesEvaluation statistiques = amc.getStatistiques();
+                if(statistiques == null) {
+                    rep.create(ACLMessage.REFUSE, MessageHelper.ID_RECUP_AMC_STATISTIQUES);
+                    rep.addReceiver(msgRecu.getSender());
+                    amc.send(rep.get("Aucun algorithme en cours"));
+                    return;
+                }
+                
+                rep.create(ACLMessage.INFORM, MessageHelper.ID_RECUP_AMC_STATISTIQUES);
+                rep.addReceiver(msgRecu.getSender());
+                try {
+                    amc.send(rep.get(ObjectCodec.encode(statistiques)));
+                } catch(Exception ex) {
+                    amc.println("Erreur: Impossible d'encoder les statistiques\n\t(Raison: "+ex.getMessage()+")");
+                }
+            } else {
+                rep.create(ACLMessage.NOT_UNDERSTOOD, MessageHelper.ID_RECUP_AMC_STATISTIQUES);
+                rep.addReceiver(msgRecu.getSender());
+                amc.send(rep.get("Accepte la requete QUERY_IF getStatistiques uniquement"));
+            }
+        } else
+            block(1000);
+    }
+
+}
@@ -0,0 +1,77 @@
+package seisco.comportement.ate;
+
+import jade.core.behaviours.CyclicBehaviour;
+import jade.lang.acl.ACLMessage;
+import jade.lang.acl.MessageTemplate;
+import seisco.agent.AgentTransversalEchange;
+import seisco.algo.StatistiquesEvaluation;
+import seisco.util.ObjectCodec;
+import seisco.util.MessageHelper;
+
+/**
+ * <p>Ce comportement sert à envoyer une demande à l'AMC pour récupérer ses statistiques d'évaluation.
+ * <p>La demande est déclenchée par l'état <code>demandeStatistiques</code> ; à la réception,
+ * les statistiques sont placées en cache et l'état <code>statistiquesPresentes</code> passe à <code>true</code>.
+ * <p>ACLMessage ID utilisé : 
+ * <p>ID_RECUP_AMC_STATISTIQUES
+ * 
+ * @version 2013
+ * @see seisco.comportement.amc.PresenterStatistiques
+ */
+public class RecupererStatistiques extends CyclicBehaviour {
+
+    private int etape;
+    private AgentTransversalEchange ate;
+    
+    public RecupererStatistiques(AgentTransversalEchange a) {
+        super(a);
+        this.ate = a;
+        etape = 0;
+    }
+    
+    @Override
+    public void action() {
+        if(!(Boolean)(ate.getEtat("demandeStatistiques").getValeur())) {
+            block(1000);
+            return;
+        }
+        
+        switch(etape) {
+            case 0:
+                if(ate.getCacheAMC() != null) {
+                    MessageHelper mh = new MessageHelper();
+
+                    mh.create(ACLMessage.QUERY_IF, MessageHelper.ID_RECUP_AMC_STATISTIQUES);
+                    mh.addReceiver(ate.getCacheAMC());
+                    ate.send(mh.get("getStatistiques"));
+
+                    etape = 1;
+                } else
+                    block(1000);
+            break;
+            case 1:
+                MessageTemplate mt = MessageTemplate.MatchConversationId(MessageHelper.ID_RECUP_AMC_STATISTIQUES);
+                ACLMessage msgRecu = ate.receive(mt);
+                if(msgRecu == null) {
+                    block(1000);
+                } else if(msgRecu.getPerformative() == ACLMessage.INFORM) {
+                    try {
+                        ate.setCacheStatistiques(ObjectCodec.decode(msgRecu.getContent(), StatistiquesEvaluation.class));
+                        ate.println("Statistiques recues - " + ate.getCacheStatistiques());
+                        ate.setEtat("statistiquesPresentes", true);
+                    } catch(Exception ex) {
+                        ate.println("Erreur: Impossible de décoder les statistiques\n\t(Raison: "+ex.getMessage()+")");
+                    }
+
+                    ate.setEtat("demandeStatistiques", false);
+                    etape = 0;
+                } else { // AMC sans algorithme ou requete refusee
+                    ate.println("Erreur : Statistiques indisponibles (" + msgRecu.getContent() + ")");
+                    ate.setEtat("demandeStatistiques", false);
+                    etape = 0;
+                }
+            break;
+        }
+    }
+
+}
@@ -0,0 +1,250 @@
+package seisco.probleme;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Cache des évaluations de solutions, indexé par l'empreinte 64 bits
+ * fournie par {@link Solution#getEmpreinte()}. Placé devant
+ * {@link Probleme#fonctionObjectif(seisco.probleme.Solution)} (voir
+ * {@link Probleme#setCacheEvaluation(seisco.probleme.CacheEvaluation)}), il
+ * évite de réévaluer les solutions qu'une population ou une colonie
+ * produit plusieurs fois.
+ *
+ * <p>
+ * Le nombre d'entrées est borné. Une fois le cache plein, l'entrée
+ * remplacée est choisie par l'algorithme de l'horloge (CLOCK) : chaque
+ * entrée lue est marquée, et l'aiguille efface les marques jusqu'à trouver
+ * une entrée non lue depuis son dernier passage. Les entrées sont rangées
+ * dans des tableaux primitifs, soit environ 21 octets par entrée.
+ *
+ * <p>Les accès sont synchronisés : le cache peut servir aux évaluations par lots en parallèle.
+ *
+ * @version 2013
+ * @see Probleme#evaluer(seisco.probleme.Solution)
+ */
+public class CacheEvaluation {
+
+    /* long + float + boolean des entrées, int de l'index au remplissage 1/2 */
+    private static final int OCTETS_PAR_ENTREE = 8 + 4 + 1 + 2 * 4;
+
+    private final int capacite;
+    private final long[] empreintes;
+    private final float[] evaluations;
+    private final boolean[] lues;
+    private int taille;
+    private int aiguille;
+
+    /* Index à adressage ouvert : position de l'entrée + 1, ou 0 pour une case libre */
+    private final int[] index;
+    private final int masque;
+
+    private long nbSucces;
+    private long nbEchecs;
+
+    /**
+     * <p>Instancie un cache d'évaluations
+     *
+     * @param capacite le nombre maximum d'évaluations conservées
+     * @throws IllegalArgumentException si la capacité n'est pas strictement positive
+     * @since 2013
+     */
+    public CacheEvaluation(int capacite) {
+        if (capacite <= 0)
+            throw new IllegalArgumentException("La capacité doit être strictement positive : " + capacite);
+
+        int longueur = 2;
+        while (longueur < 2 * capacite)
+            longueur <<= 1;
+
+        this.capacite = capacite;
+        this.empreintes = new long[capacite];
+        this.evaluations = new float[capacite];
+        this.lues = new boolean[capacite];
+        this.index = new int[longueur];
+        this.masque = longueur - 1;
+    }
+
+    /**
+     * <p>Instancie un cache d'évaluations occupant au plus une quantité de mémoire donnée
+     *
+     * @param octets la mémoire allouée au cache, en octets
+     * @return le cache
+     * @throws IllegalArgumentException si la mémoire ne suffit pas à une entrée (21 octets)
+     * @since 2013
+     */
+    public static CacheEvaluation pourMemoire(long octets) {
+        if (octets < OCTETS_PAR_ENTREE)
+            throw new IllegalArgumentException("Mémoire insuffisante pour une entrée du cache : " + octets
+                    + " octets au lieu de " + OCTETS_PAR_ENTREE + " au moins");
+
+        long capacite = Math.min(octets / OCTETS_PAR_ENTREE, 1 << 29);
+        return new CacheEvaluation((int) capacite);
+    }
+
+    /**
+     * <p>Retourne le nombre maximum d'évaluations conservées
+     *
+     * @return la capacité du cache
+     * @since 2013
+     */
+    public int getCapacite() {
+        return capacite;
+    }
+
+    /**
+     * <p>Retourne le nombre d'évaluations conservées
+     *
+     * @return le nombre d'entrées du cache
+     * @since 2013
+     */
+    public synchronized int getTaille() {
+        return taille;
+    }
+
+    /**
+     * <p>Cherche l'évaluation d'une solution
+     *
+     * @param empreinte l'empreinte de la solution
+     * @return l'évaluation conservée, ou {@link Float#NaN} si elle est absente
+     * @since 2013
+     */
+    public synchronized float chercher(long empreinte) {
+        int position = position(empreinte);
+        if (position < 0) {
+            nbEchecs++;
+            return Float.NaN;
+        }
+
+        nbSucces++;
+        lues[position] = true;
+        return evaluations[position];
+    }
+
+    /**
+     * <p>
+     * Conserve l'évaluation d'une solution, en remplaçant si besoin
+     * l'entrée désignée par l'horloge. Une évaluation {@link Float#NaN}
+     * n'est pas conservée.
+     *
+     * @param empreinte l'empreinte de la solution
+     * @param evaluation l'évaluation de la solution
+     * @since 2013
+     */
+    public synchronized void ranger(long empreinte, float evaluation) {
+        if (Float.isNaN(evaluation))
+            return;
+
+        int position = position(empreinte);
+        if (position >= 0) {
+            evaluations[position] = evaluation;
+            return;
+        }
+
+        if (taille < capacite) {
+            position = taille++;
+        } else {
+            while (lues[aiguille]) {
+                lues[aiguille] = false;
+                aiguille = (aiguille + 1) % capacite;
+            }
+            position = aiguille;
+            aiguille = (aiguille + 1) % capacite;
+            retirerIndex(position);
+        }
+
+        empreintes[position] = empreinte;
+        evaluations[position] = evaluation;
+        lues[position] = false;
+
+        int i = caseIdeale(empreinte);
+        while (index[i] != 0)
+            i = (i + 1) & masque;
+        index[i] = position + 1;
+    }
+
+    /**
+     * <p>Vide le cache et remet ses statistiques à zéro
+     *
+     * @since 2013
+     */
+    public synchronized void vider() {
+        Arrays.fill(index, 0);
+        Arrays.fill(lues, false);
+        taille = 0;
+        aiguille = 0;
+        nbSucces = 0;
+        nbEchecs = 0;
+    }
+
+    /**
+     * <p>Retourne le nombre de recherches ayant trouvé une évaluation
+     *
+     * @return le nombre de succès
+     * @since 2013
+     */
+    public synchronized long getNbSucces() {
+        return nbSucces;
+    }
+
+    /**
+     * <p>Retourne le nombre de recherches n'ayant pas trouvé d'évaluation
+     *
+     * @return le nombre d'échecs
+     * @since 2013
+     */
+    public synchronized long getNbEchecs() {
+        return nbEchecs;
+    }
+
+    /**
+     * <p>Retourne la proportion de recherches ayant trouvé une évaluation
+     *
+     * @return le taux de succès entre 0 et 1, ou <b>0</b> avant la première recherche
+     * @since 2013
+     */
+    public synchronized double getTauxSucces() {
+        long total = nbSucces + nbEchecs;
+        return (total == 0) ? 0 : (double) nbSucces / total;
+    }
+
+    private int position(long empreinte) {
+        for (int i = caseIdeale(empreinte); index[i] != 0; i = (i + 1) & masque)
+            if (empreintes[index[i] - 1] == empreinte)
+                return index[i] - 1;
+
+        return -1;
+    }
+
+    /**
+     * <p>Retire une entrée de l'index en recompactant la suite de cases occupées qui la suit
+     */
+    private void retirerIndex(int position) {
+        int libre = caseIdeale(empreintes[position]);
+        while (index[libre] != position + 1)
+            libre = (libre + 1) & masque;
+
+        // Suppression par décalage arrière : aucune case « supprimée » ne reste dans l'index
+        int i = (libre + 1) & masque;
+        while (index[i] != 0) {
+            int ideale = caseIdeale(empreintes[index[i] - 1]);
+            if (((i - ideale) & masque) >= ((i - libre) & masque)) {
+                index[libre] = index[i];
+                libre = i;
+            }
+            i = (i + 1) & masque;
+        }
+        index[libre] = 0;
+    }
+
+    private int caseIdeale(long empreinte) {
+        long h = empreinte * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & masque;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "CacheEvaluation[" + taille + "/" + capacite + " évaluations, " + nbSucces + " succès, "
+                + nbEchecs + " échecs]";
+    }
+}
@@ -0,0 +1,217 @@
+package seisco.probleme;
+
+import seisco.util.graphe.Distancier;
+
+/**
+ * <p>
+ * Variation du coût d'une tournée sous l'effet d'un {@link Mouvement},
+ * calculée sans construire la tournée modifiée.
+ *
+ * <p>
+ * Une tournée est une suite d'indices de nœuds <code>t[0..n-1]</code> dont
+ * le coût est <code>d(t[0], t[1]) + ... + d(t[n-2], t[n-1])</code> ; une
+ * tournée partant du dépôt et y revenant le contient à ses deux extrémités,
+ * et les mouvements laissent alors les positions 0 et n-1 en place.
+ * L'échange et l'insertion ne touchent que trois ou quatre arcs et se
+ * calculent en O(1) ; l'inversion aussi sur un distancier symétrique, et en
+ * O(j - i) sinon, le sens des arcs inversés changeant.
+ *
+ * <p>
+ * Ces méthodes servent d'implémentation à
+ * {@link Probleme#evaluerDelta(seisco.probleme.Solution, seisco.probleme.Mouvement)}
+ * pour les problèmes de tournées.
+ *
+ * @version 2013
+ */
+public class DeltaTournee {
+
+    private DeltaTournee() {
+    }
+
+    /**
+     * <p>Calcule le coût d'une tournée
+     *
+     * @param d le distancier
+     * @param t la tournée
+     * @return la somme des distances entre éléments consécutifs
+     * @since 2013
+     */
+    public static float cout(Distancier d, int[] t) {
+        float cout = 0;
+        for (int k = 0; k + 1 < t.length; k++)
+            cout += d.get(t[k], t[k + 1]);
+
+        return cout;
+    }
+
+    /**
+     * <p>Calcule la variation de coût d'un mouvement
+     *
+     * @param d le distancier
+     * @param t la tournée
+     * @param m le mouvement
+     * @return le coût après le mouvement moins le coût avant
+     * @since 2013
+     */
+    public static float delta(Distancier d, int[] t, Mouvement m) {
+        switch (m.getType()) {
+            case Mouvement.ECHANGE:
+                return echange(d, t, m.getI(), m.getJ());
+            case Mouvement.INSERTION:
+                return insertion(d, t, m.getI(), m.getJ());
+            default:
+                return inversion(d, t, m.getI(), m.getJ());
+        }
+    }
+
+    /**
+     * <p>Calcule la variation de coût de l'échange des éléments en positions <code>i</code> et <code>j</code>
+     *
+     * @param d le distancier
+     * @param t la tournée
+     * @param i la première position
+     * @param j la seconde position
+     * @return le coût après l'échange moins le coût avant
+     * @since 2013
+     */
+    public static float echange(Distancier d, int[] t, int i, int j) {
+        if (i == j)
+            return 0;
+        if (i > j) {
+            int k = i;
+            i = j;
+            j = k;
+        }
+
+        // Arcs sortant des positions i-1, i, j-1 et j, l'arc i = j-1 n'étant compté qu'une fois
+        float delta = variation(d, t, i - 1, i, j) + variation(d, t, i, i, j) + variation(d, t, j, i, j);
+        if (j - 1 > i)
+            delta += variation(d, t, j - 1, i, j);
+
+        return delta;
+    }
+
+    /**
+     * <p>
+     * Calcule la variation de coût du déplacement de l'élément en position
+     * <code>i</code>, qui se retrouve en position <code>j</code>, les éléments
+     * intermédiaires étant décalés d'une position.
+     *
+     * @param d le distancier
+     * @param t la tournée
+     * @param i la position de l'élément déplacé
+     * @param j sa position après le déplacement
+     * @return le coût après le déplacement moins le coût avant
+     * @since 2013
+     */
+    public static float insertion(Distancier d, int[] t, int i, int j) {
+        if (i == j)
+            return 0;
+
+        int n = t.length;
+        int x = t[i];
+        // Retrait de x entre ses voisins
+        float delta = -arc(d, t, i - 1) - arc(d, t, i);
+        if (i > 0 && i < n - 1)
+            delta += d.get(t[i - 1], t[i + 1]);
+
+        // Insertion de x entre t[j] et t[j+1] (vers la fin) ou entre t[j-1] et t[j] (vers le début)
+        int avant = (i < j) ? j : j - 1;
+        int apres = avant + 1;
+        if (avant >= 0 && apres < n)
+            delta -= d.get(t[avant], t[apres]);
+        if (avant >= 0)
+            delta += d.get(t[avant], x);
+        if (apres < n)
+            delta += d.get(x, t[apres]);
+
+        return delta;
+    }
+
+    /**
+     * <p>Calcule la variation de coût de l'inversion de la séquence des positions <code>i</code> à <code>j</code>
+     *
+     * @param d le distancier
+     * @param t la tournée
+     * @param i la première position inversée
+     * @param j la dernière position inversée
+     * @return le coût après l'inversion moins le coût avant
+     * @since 2013
+     */
+    public static float inversion(Distancier d, int[] t, int i, int j) {
+        if (i > j) {
+            int k = i;
+            i = j;
+            j = k;
+        }
+        if (i == j)
+            return 0;
+
+        float delta = -arc(d, t, i - 1) - arc(d, t, j);
+        if (i > 0)
+            delta += d.get(t[i - 1], t[j]);
+        if (j < t.length - 1)
+            delta += d.get(t[i], t[j + 1]);
+
+        if (!d.estSymetrique())
+            for (int k = i; k < j; k++)
+                delta += d.get(t[k + 1], t[k]) - d.get(t[k], t[k + 1]);
+
+        return delta;
+    }
+
+    /**
+     * <p>Applique un mouvement accepté à la tournée, sur place
+     *
+     * @param t la tournée
+     * @param m le mouvement
+     * @since 2013
+     */
+    public static void appliquer(int[] t, Mouvement m) {
+        int i = m.getI(), j = m.getJ();
+        switch (m.getType()) {
+            case Mouvement.ECHANGE: {
+                int x = t[i];
+                t[i] = t[j];
+                t[j] = x;
+                break;
+            }
+            case Mouvement.INSERTION: {
+                int x = t[i];
+                if (i < j)
+                    System.arraycopy(t, i + 1, t, i, j - i);
+                else
+                    System.arraycopy(t, j, t, j + 1, i - j);
+                t[j] = x;
+                break;
+            }
+            default:
+                for (int a = Math.min(i, j), b = Math.max(i, j); a < b; a++, b--) {
+                    int x = t[a];
+                    t[a] = t[b];
+                    t[b] = x;
+                }
+        }
+    }
+
+    /**
+     * <p>Retourne la variation de l'arc sortant de la position k lors de l'échange des positions i et j
+     */
+    private static float variation(Distancier d, int[] t, int k, int i, int j) {
+        if (k < 0 || k + 1 >= t.length)
+            return 0;
+
+        return d.get(echangee(t, k, i, j), echangee(t, k + 1, i, j)) - d.get(t[k], t[k + 1]);
+    }
+
+    private static int echangee(int[] t, int k, int i, int j) {
+        return (k == i) ? t[j] : (k == j) ? t[i] : t[k];
+    }
+
+    /**
+     * <p>Retourne la distance de l'arc sortant de la position k, ou 0 s'il n'existe pas
+     */
+    private static float arc(Distancier d, int[] t, int k) {
+        return (k >= 0 && k + 1 < t.length) ? d.get(t[k], t[k + 1]) : 0;
+    }
+}
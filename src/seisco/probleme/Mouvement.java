@@ -0,0 +1,122 @@
+package seisco.probleme;
+
+import jade.content.Concept;
+
+/**
+ * <p>
+ * Décrit une modification élémentaire d'une {@link Solution} par une
+ * recherche locale, sans la construire : le type de mouvement, la tournée
+ * concernée et deux positions dans cette tournée.
+ *
+ * <p>
+ * Un mouvement est évalué par {@link Probleme#evaluerDelta(seisco.probleme.Solution, seisco.probleme.Mouvement)}
+ * et n'est appliqué qu'une fois accepté. Il est modifiable par
+ * {@link #definir(int, int, int, int)} afin qu'une même instance serve à
+ * parcourir tout un voisinage sans allocation.
+ *
+ * @version 2013
+ * @see DeltaTournee
+ */
+public class Mouvement implements Concept {
+
+    /**
+     * <p>Échange des éléments aux positions <code>i</code> et <code>j</code>
+     */
+    public static final int ECHANGE = 0;
+
+    /**
+     * <p>Déplacement de l'élément en position <code>i</code> vers la position <code>j</code>
+     */
+    public static final int INSERTION = 1;
+
+    /**
+     * <p>Inversion de la séquence des positions <code>i</code> à <code>j</code> (2-opt)
+     */
+    public static final int INVERSION = 2;
+
+    private int type;
+    private int tournee;
+    private int i;
+    private int j;
+
+    /**
+     * <p>Instancie un mouvement
+     *
+     * @param type {@link #ECHANGE}, {@link #INSERTION} ou {@link #INVERSION}
+     * @param tournee l'indice de la tournée concernée, ou <b>0</b> pour une solution à tournée unique
+     * @param i la première position
+     * @param j la seconde position
+     * @since 2013
+     */
+    public Mouvement(int type, int tournee, int i, int j) {
+        definir(type, tournee, i, j);
+    }
+
+    /**
+     * <p>Redéfinit le mouvement, pour parcourir un voisinage avec une seule instance
+     *
+     * @param type {@link #ECHANGE}, {@link #INSERTION} ou {@link #INVERSION}
+     * @param tournee l'indice de la tournée concernée
+     * @param i la première position
+     * @param j la seconde position
+     * @return le mouvement lui-même
+     * @throws IllegalArgumentException si le type est inconnu
+     * @since 2013
+     */
+    public Mouvement definir(int type, int tournee, int i, int j) {
+        if (type < ECHANGE || type > INVERSION)
+            throw new IllegalArgumentException("Type de mouvement inconnu : " + type);
+
+        this.type = type;
+        this.tournee = tournee;
+        this.i = i;
+        this.j = j;
+        return this;
+    }
+
+    /**
+     * <p>Retourne le type du mouvement
+     *
+     * @return {@link #ECHANGE}, {@link #INSERTION} ou {@link #INVERSION}
+     * @since 2013
+     */
+    public int getType() {
+        return type;
+    }
+
+    /**
+     * <p>Retourne l'indice de la tournée concernée
+     *
+     * @return l'indice de la tournée
+     * @since 2013
+     */
+    public int getTournee() {
+        return tournee;
+    }
+
+    /**
+     * <p>Retourne la première position
+     *
+     * @return la position <code>i</code>
+     * @since 2013
+     */
+    public int getI() {
+        return i;
+    }
+
+    /**
+     * <p>Retourne la seconde position
+     *
+     * @return la position <code>j</code>
+     * @since 2013
+     */
+    public int getJ() {
+        return j;
+    }
+
+    @Override
+    public String toString() {
+        String nom = (type == ECHANGE) ? "Echange" : (type == INSERTION) ? "Insertion" : "Inversion";
+        return nom + "[tournée " + tournee + ", " + i + ", " + j + "]";
+    }
+}
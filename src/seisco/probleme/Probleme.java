@@ -4,7 +4,10 @@ import com.sun.corba.se.impl.orbutil.concurrent.CondVar;
 import jade.content.Concept;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import seisco.util.Condition;
+import seisco.util.graphe.Partition;
 
 /**
  * <p>
@@ -21,6 +24,11 @@ import seisco.util.Condition;
 public abstract class Probleme implements Concept {
     protected String nom;
     protected List<Condition> conditions;
+
+    /* Pool d'évaluation par lots, propre à la JVM courante : non sérialisé avec le problème */
+    private transient ForkJoinPool poolEvaluation;
+    private transient CacheEvaluation cacheEvaluation;
+    private static ForkJoinPool poolParDefaut;
     
     /**
      * <p>Instancie un nouveau problème en initialisant son nom à "Unknown"
@@ -159,6 +167,140 @@ public abstract class Probleme implements Concept {
      */
     public abstract float fonctionObjectif(Solution s);
 
+    /**
+     * <p>
+     * Évalue une {@link Solution} en passant par le cache d'évaluations,
+     * s'il est activé et si la solution fournit une empreinte ; sinon,
+     * équivaut à {@link #fonctionObjectif(seisco.probleme.Solution)}.
+     * 
+     * @param s la solution à évaluer
+     * @return l'évaluation de la solution
+     * @since 2013
+     * @see #setCacheEvaluation(seisco.probleme.CacheEvaluation)
+     * @see Solution#getEmpreinte()
+     */
+    public float evaluer(Solution s) {
+        CacheEvaluation cache = cacheEvaluation;
+        long empreinte = (cache != null) ? s.getEmpreinte() : Solution.SANS_EMPREINTE;
+        if (empreinte == Solution.SANS_EMPREINTE)
+            return fonctionObjectif(s);
+
+        float evaluation = cache.chercher(empreinte);
+        if (Float.isNaN(evaluation)) {
+            evaluation = fonctionObjectif(s);
+            cache.ranger(empreinte, evaluation);
+        }
+
+        return evaluation;
+    }
+
+    /**
+     * <p>Retourne le cache d'évaluations du problème
+     * 
+     * @return le cache, ou <b>null</b> s'il n'est pas activé
+     * @since 2013
+     */
+    public CacheEvaluation getCacheEvaluation() {
+        return cacheEvaluation;
+    }
+
+    /**
+     * <p>
+     * Active ou désactive le cache d'évaluations. Le cache n'est pas
+     * transporté lors du déplacement de l'agent.
+     * 
+     * @param cache le cache à placer devant la fonction « objectif », ou <b>null</b> pour le désactiver
+     * @since 2013
+     * @see #evaluer(seisco.probleme.Solution)
+     */
+    public void setCacheEvaluation(CacheEvaluation cache) {
+        this.cacheEvaluation = cache;
+    }
+
+    /**
+     * <p>
+     * Évalue un lot de {@link Solution} (par exemple une génération entière
+     * d'un algorithme génétique ou les fourmis d'une itération) et range
+     * l'évaluation de <code>solutions[i]</code> dans <code>evaluations[i]</code>.
+     * 
+     * <p>
+     * Le lot est découpé en blocs évalués en parallèle dans le pool
+     * d'évaluation (voir {@link #setPoolEvaluation(java.util.concurrent.ForkJoinPool)}) ;
+     * {@link #fonctionObjectif(seisco.probleme.Solution)} doit donc pouvoir
+     * être appelée par plusieurs threads à la fois. Un problème dont
+     * l'évaluation n'est pas thread-safe redéfinit cette méthode, ou fournit
+     * un pool de parallélisme 1.
+     * 
+     * @param solutions les solutions à évaluer
+     * @param evaluations le tableau recevant les évaluations, au moins aussi long que <code>solutions</code>
+     * @throws IllegalArgumentException si <code>evaluations</code> est trop court
+     * @since 2013
+     * @see #evaluer(seisco.probleme.Solution)
+     */
+    public void evaluer(Solution[] solutions, float[] evaluations) {
+        if (evaluations.length < solutions.length)
+            throw new IllegalArgumentException("Tableau des évaluations trop court : "
+                    + evaluations.length + " pour " + solutions.length + " solutions");
+
+        ForkJoinPool pool = getPoolEvaluation();
+        if (solutions.length < 2 || pool.getParallelism() < 2) {
+            for (int i = 0; i < solutions.length; i++)
+                evaluations[i] = evaluer(solutions[i]);
+            return;
+        }
+
+        int seuil = Math.max(1, solutions.length / (pool.getParallelism() * 4));
+        pool.invoke(new EvaluationBloc(this, solutions, evaluations, 0, solutions.length, seuil));
+    }
+
+    /**
+     * <p>Évalue une {@link List} de {@link Solution}
+     * 
+     * @param solutions les solutions à évaluer
+     * @param evaluations le tableau recevant les évaluations, dans l'ordre de la liste
+     * @throws IllegalArgumentException si <code>evaluations</code> est trop court
+     * @since 2013
+     * @see #evaluer(seisco.probleme.Solution[], float[])
+     */
+    public void evaluer(List<? extends Solution> solutions, float[] evaluations) {
+        evaluer(solutions.toArray(new Solution[solutions.size()]), evaluations);
+    }
+
+    /**
+     * <p>
+     * Retourne le pool dans lequel sont évalués les lots de solutions :
+     * celui fourni par {@link #setPoolEvaluation(java.util.concurrent.ForkJoinPool)},
+     * ou à défaut un pool partagé par tous les problèmes de la JVM et
+     * dimensionné sur le nombre de processeurs.
+     * 
+     * @return le pool d'évaluation
+     * @since 2013
+     */
+    public ForkJoinPool getPoolEvaluation() {
+        if (poolEvaluation != null)
+            return poolEvaluation;
+
+        synchronized (Probleme.class) {
+            if (poolParDefaut == null)
+                poolParDefaut = new ForkJoinPool();
+            return poolParDefaut;
+        }
+    }
+
+    /**
+     * <p>
+     * Remplace le pool dans lequel sont évalués les lots de solutions.
+     * Le pool n'est pas transporté lors du déplacement de l'agent : après
+     * désérialisation, le pool partagé de la nouvelle JVM est utilisé.
+     * 
+     * @param pool le nouveau pool, ou <b>null</b> pour revenir au pool partagé
+     * @since 2013
+     * @see #evaluer(seisco.probleme.Solution[], float[])
+     */
+    public void setPoolEvaluation(ForkJoinPool pool) {
+        this.poolEvaluation = pool;
+    }
+
     /**
      * <p>
      * Vérifie que le problème est réalisable
@@ -170,5 +312,114 @@ public abstract class Probleme implements Concept {
      */
     public abstract boolean estRealisable(Solution s);
 
+    /**
+     * <p>
+     * Indique si le problème sait évaluer un {@link Mouvement} sans construire
+     * la solution voisine (voir {@link #evaluerDelta(seisco.probleme.Solution, seisco.probleme.Mouvement)}).
+     * 
+     * @return
+     *  <p> <b>true</b> si le problème fournit l'évaluation incrémentale
+     *  <p> <b>false</b> sinon (par défaut)
+     * @since 2013
+     */
+    public boolean estEvaluableParDelta() {
+        return false;
+    }
+
+    /**
+     * <p>
+     * Retourne la variation de la fonction « objectif » qu'entraînerait un
+     * {@link Mouvement} appliqué à une {@link Solution}, sans construire la
+     * solution voisine : en O(1) ou en O(longueur de la tournée) au lieu d'une
+     * évaluation complète. Un problème de tournées s'appuie sur {@link DeltaTournee}.
+     * 
+     * @param s la solution courante
+     * @param m le mouvement à évaluer
+     * @return l'évaluation de la solution voisine moins celle de <code>s</code>
+     * @throws UnsupportedOperationException si le problème ne fournit pas l'évaluation incrémentale
+     * @since 2013
+     * @see #estEvaluableParDelta()
+     */
+    public float evaluerDelta(Solution s, Mouvement m) {
+        throw new UnsupportedOperationException("Le problème " + nom + " n'évalue pas les mouvements par delta");
+    }
 
+    /**
+     * <p>
+     * Indique si le problème sait se découper en sous-problèmes
+     * par régions du graphe (voir {@link #decomposer(seisco.util.graphe.Partition)}).
+     * 
+     * @return
+     *  <p> <b>true</b> si le problème est décomposable
+     *  <p> <b>false</b> sinon (par défaut)
+     * @since 2013
+     */
+    public boolean estDecomposable() {
+        return false;
+    }
+
+    /**
+     * <p>
+     * Découpe le problème en un sous-problème par région de la partition,
+     * chacun pouvant être optimisé par un couple AMC/AME différent.
+     * 
+     * @param partition la partition du graphe du problème
+     * @return un sous-problème par région, dans l'ordre des régions
+     * @throws UnsupportedOperationException si le problème n'est pas décomposable
+     * @since 2013
+     * @see seisco.util.graphe.Partitionneur#partitionner(seisco.util.graphe.GrapheCompact, int)
+     * @see #assembler(java.util.List)
+     */
+    public List<Probleme> decomposer(Partition partition) {
+        throw new UnsupportedOperationException("Le problème " + nom + " n'est pas décomposable");
+    }
+
+    /**
+     * <p>
+     * Recompose une {@link Solution} du problème complet à partir des
+     * solutions partielles des sous-problèmes, par exemple par l'ATE
+     * une fois toutes les régions résolues.
+     * 
+     * @param solutionsPartielles les solutions des sous-problèmes, dans l'ordre des régions
+     * @return la solution du problème complet
+     * @throws UnsupportedOperationException si le problème n'est pas décomposable
+     * @since 2013
+     * @see #decomposer(seisco.util.graphe.Partition)
+     */
+    public Solution assembler(List<Solution> solutionsPartielles) {
+        throw new UnsupportedOperationException("Le problème " + nom + " n'est pas décomposable");
+    }
+
+    /**
+     * <p>Évalue les solutions <code>[debut, fin[</code> d'un lot, en le coupant en deux au-delà du seuil
+     */
+    private static class EvaluationBloc extends RecursiveAction {
+        private final Probleme probleme;
+        private final Solution[] solutions;
+        private final float[] evaluations;
+        private final int debut;
+        private final int fin;
+        private final int seuil;
+
+        EvaluationBloc(Probleme probleme, Solution[] solutions, float[] evaluations, int debut, int fin, int seuil) {
+            this.probleme = probleme;
+            this.solutions = solutions;
+            this.evaluations = evaluations;
+            this.debut = debut;
+            this.fin = fin;
+            this.seuil = seuil;
+        }
+
+        @Override
+        protected void compute() {
+            if (fin - debut <= seuil) {
+                for (int i = debut; i < fin; i++)
+                    evaluations[i] = probleme.evaluer(solutions[i]);
+            } else {
+                int milieu = (debut + fin) >>> 1;
+                invokeAll(new EvaluationBloc(probleme, solutions, evaluations, debut, milieu, seuil),
+                        new EvaluationBloc(probleme, solutions, evaluations, milieu, fin, seuil));
+            }
+        }
+    }
 }
@@ -14,9 +14,52 @@ import jade.content.Concept;
 public abstract class Solution implements Concept {
     private static final long serialVersionUID = 910078695092759971L;
     
+    /**
+     * <p>Empreinte signifiant que la solution n'en fournit pas
+     */
+    public static final long SANS_EMPREINTE = 0;
+    
     /**
      * <p>Affiche la solution en console
      * @since 2012
      */
 	public abstract void afficher();
+
+    /**
+     * <p>
+     * Retourne une empreinte 64 bits de la solution : deux solutions de même
+     * empreinte sont considérées comme identiques et reçoivent la même
+     * évaluation du {@link CacheEvaluation}.
+     * 
+     * <p>
+     * Par défaut la solution n'a pas d'empreinte et n'est jamais mise en
+     * cache. Une sous-classe la calcule à partir de son contenu, par exemple
+     * avec {@link #empreinte(int[])}, et évite la valeur {@link #SANS_EMPREINTE}.
+     * 
+     * @return l'empreinte de la solution, ou {@link #SANS_EMPREINTE}
+     * @since 2013
+     * @see Probleme#evaluer(seisco.probleme.Solution)
+     */
+    public long getEmpreinte() {
+        return SANS_EMPREINTE;
+    }
+
+    /**
+     * <p>Calcule l'empreinte 64 bits (FNV-1a) d'une séquence d'entiers, par exemple une tournée
+     * 
+     * @param sequence la séquence
+     * @return l'empreinte de la séquence, jamais égale à {@link #SANS_EMPREINTE}
+     * @since 2013
+     */
+    protected static long empreinte(int[] sequence) {
+        long h = 0xcbf29ce484222325L;
+        for (int valeur : sequence) {
+            for (int i = 0; i < 4; i++) {
+                h ^= (valeur >>> (i * 8)) & 0xff;
+                h *= 0x100000001b3L;
+            }
+        }
+
+        return (h == SANS_EMPREINTE) ? 1 : h;
+    }
 }
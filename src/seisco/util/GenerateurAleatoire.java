@@ -0,0 +1,79 @@
+package seisco.util;
+
+import java.util.Random;
+
+/**
+ * <p>
+ * Générateur aléatoire donnant les mêmes tirages que {@link Random}, dont
+ * l'état courant peut être lu et restauré : un algorithme repris après
+ * déplacement (voir {@link seisco.algo.PointReprise}) poursuit exactement
+ * la même suite de tirages.
+ *
+ * <p>
+ * Seule la graine de 48 bits forme l'état ; un second tirage gaussien en
+ * attente n'en fait pas partie et est perdu par {@link #setEtat(long)}.
+ *
+ * @version 2013
+ */
+public class GenerateurAleatoire extends Random {
+
+    private static final long MULTIPLICATEUR = 0x5DEECE66DL;
+    private static final long INCREMENT = 0xBL;
+    private static final long MASQUE = (1L << 48) - 1;
+
+    /* Initialisé par setSeed, appelé depuis le constructeur de Random */
+    private long etat;
+
+    /**
+     * <p>Instancie un générateur de graine quelconque
+     *
+     * @since 2013
+     */
+    public GenerateurAleatoire() {
+        this(System.nanoTime() ^ 0x2545F4914F6CDD1DL);
+    }
+
+    /**
+     * <p>Instancie un générateur de graine donnée, qui tire la même suite que <code>new Random(graine)</code>
+     *
+     * @param graine la graine
+     * @since 2013
+     */
+    public GenerateurAleatoire(long graine) {
+        super(graine);
+    }
+
+    @Override
+    public synchronized void setSeed(long graine) {
+        super.setSeed(graine);
+        this.etat = (graine ^ MULTIPLICATEUR) & MASQUE;
+    }
+
+    @Override
+    protected synchronized int next(int bits) {
+        etat = (etat * MULTIPLICATEUR + INCREMENT) & MASQUE;
+        return (int) (etat >>> (48 - bits));
+    }
+
+    /**
+     * <p>Retourne l'état courant du générateur
+     *
+     * @return l'état, à passer à {@link #setEtat(long)} pour reprendre les tirages à ce point
+     * @since 2013
+     */
+    public synchronized long getEtat() {
+        return etat;
+    }
+
+    /**
+     * <p>Restaure un état lu par {@link #getEtat()}
+     *
+     * @param etat l'état à restaurer
+     * @since 2013
+     */
+    public synchronized void setEtat(long etat) {
+        // Efface le tirage gaussien en attente, puis remplace la graine
+        super.setSeed(0);
+        this.etat = etat & MASQUE;
+    }
+}
@@ -0,0 +1,201 @@
+package seisco.util;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>
+ * Histogramme de durées en nanosecondes, à classes log-linéaires (à la
+ * manière des histogrammes HDR) : chaque puissance de deux est découpée en
+ * 16 classes de même largeur, soit une erreur relative d'au plus 6,25 %
+ * sur toute la plage, de la nanoseconde à plusieurs siècles, pour
+ * 960 compteurs.
+ *
+ * <p>
+ * L'enregistrement n'alloue rien et ne prend aucun verrou : il peut être
+ * appelé depuis plusieurs threads, par exemple pendant une évaluation par
+ * lots en parallèle. Les lectures faites pendant des enregistrements
+ * concurrents sont approchées.
+ *
+ * @version 2013
+ */
+public class HistogrammeLatence implements Serializable {
+
+    private static final int BITS_SOUS_CLASSES = 4;
+    private static final int NB_SOUS_CLASSES = 1 << BITS_SOUS_CLASSES;
+    private static final int NB_CLASSES = (64 - BITS_SOUS_CLASSES) * NB_SOUS_CLASSES;
+
+    private final AtomicLongArray comptes;
+    private final AtomicLong nombre;
+    private final AtomicLong somme;
+    private final AtomicLong max;
+
+    /**
+     * <p>Instancie un histogramme vide
+     *
+     * @since 2013
+     */
+    public HistogrammeLatence() {
+        this.comptes = new AtomicLongArray(NB_CLASSES);
+        this.nombre = new AtomicLong();
+        this.somme = new AtomicLong();
+        this.max = new AtomicLong();
+    }
+
+    /**
+     * <p>Enregistre une durée
+     *
+     * @param nanos la durée en nanosecondes ; une durée négative compte pour 0
+     * @since 2013
+     */
+    public void enregistrer(long nanos) {
+        enregistrer(nanos, 1);
+    }
+
+    /**
+     * <p>Enregistre plusieurs fois la même durée, par exemple la durée moyenne des évaluations d'un lot
+     *
+     * @param nanos la durée en nanosecondes ; une durée négative compte pour 0
+     * @param fois le nombre d'enregistrements
+     * @since 2013
+     */
+    public void enregistrer(long nanos, long fois) {
+        if (fois <= 0)
+            return;
+        if (nanos < 0)
+            nanos = 0;
+
+        comptes.addAndGet(classe(nanos), fois);
+        nombre.addAndGet(fois);
+        somme.addAndGet(nanos * fois);
+
+        long courant = max.get();
+        while (nanos > courant && !max.compareAndSet(courant, nanos))
+            courant = max.get();
+    }
+
+    /**
+     * <p>Ajoute à l'histogramme les enregistrements d'un autre, par exemple celui d'un autre AMC
+     *
+     * @param autre l'histogramme à ajouter
+     * @since 2013
+     */
+    public void fusionner(HistogrammeLatence autre) {
+        for (int c = 0; c < NB_CLASSES; c++) {
+            long compte = autre.comptes.get(c);
+            if (compte != 0)
+                comptes.addAndGet(c, compte);
+        }
+        nombre.addAndGet(autre.nombre.get());
+        somme.addAndGet(autre.somme.get());
+
+        long autreMax = autre.max.get();
+        long courant = max.get();
+        while (autreMax > courant && !max.compareAndSet(courant, autreMax))
+            courant = max.get();
+    }
+
+    /**
+     * <p>Efface tous les enregistrements
+     *
+     * @since 2013
+     */
+    public void reinitialiser() {
+        for (int c = 0; c < NB_CLASSES; c++)
+            comptes.set(c, 0);
+        nombre.set(0);
+        somme.set(0);
+        max.set(0);
+    }
+
+    /**
+     * <p>Retourne le nombre de durées enregistrées
+     *
+     * @return le nombre d'enregistrements
+     * @since 2013
+     */
+    public long getNombre() {
+        return nombre.get();
+    }
+
+    /**
+     * <p>Retourne la somme des durées enregistrées
+     *
+     * @return la somme, en nanosecondes
+     * @since 2013
+     */
+    public long getSomme() {
+        return somme.get();
+    }
+
+    /**
+     * <p>Retourne la plus grande durée enregistrée
+     *
+     * @return le maximum, en nanosecondes
+     * @since 2013
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * <p>Retourne la durée moyenne
+     *
+     * @return la moyenne en nanosecondes, ou <b>0</b> sans enregistrement
+     * @since 2013
+     */
+    public double getMoyenne() {
+        long n = nombre.get();
+        return (n == 0) ? 0 : (double) somme.get() / n;
+    }
+
+    /**
+     * <p>Retourne un quantile des durées enregistrées
+     *
+     * @param q le quantile, entre 0 et 1 (0,5 pour la médiane, 0,99 pour le 99<sup>e</sup> centile)
+     * @return la borne supérieure de la classe contenant le quantile, en nanosecondes,
+     *  ou <b>0</b> sans enregistrement
+     * @since 2013
+     */
+    public long getQuantile(double q) {
+        long n = nombre.get();
+        if (n == 0)
+            return 0;
+
+        long rang = Math.max(1, (long) Math.ceil(q * n));
+        long cumul = 0;
+        for (int c = 0; c < NB_CLASSES; c++) {
+            cumul += comptes.get(c);
+            if (cumul >= rang)
+                return Math.min(borneSuperieure(c), max.get());
+        }
+
+        return max.get();
+    }
+
+    private static int classe(long nanos) {
+        if (nanos < NB_SOUS_CLASSES)
+            return (int) nanos;
+
+        int exposant = 63 - Long.numberOfLeadingZeros(nanos);
+        int sousClasse = (int) (nanos >>> (exposant - BITS_SOUS_CLASSES)) & (NB_SOUS_CLASSES - 1);
+        return (exposant - BITS_SOUS_CLASSES + 1) * NB_SOUS_CLASSES + sousClasse;
+    }
+
+    private static long borneSuperieure(int classe) {
+        if (classe < NB_SOUS_CLASSES)
+            return classe;
+
+        int exposant = classe / NB_SOUS_CLASSES + BITS_SOUS_CLASSES - 1;
+        long sousClasse = classe % NB_SOUS_CLASSES;
+        long largeur = 1L << (exposant - BITS_SOUS_CLASSES);
+        return ((NB_SOUS_CLASSES + sousClasse) << (exposant - BITS_SOUS_CLASSES)) + largeur - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "HistogrammeLatence[" + getNombre() + " mesures, moyenne " + (long) getMoyenne() + " ns, médiane "
+                + getQuantile(0.5) + " ns, 99 % " + getQuantile(0.99) + " ns, max " + getMax() + " ns]";
+    }
+}
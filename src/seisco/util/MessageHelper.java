@@ -19,6 +19,7 @@ public class MessageHelper {
     public static final String ID_RECUP_AMC_SOLUTION = "recup-solution";
     public static final String ID_DEPL_AMC = "depl-amc";
     public static final String ID_FIN_EXEC = "fin-exec";
+    public static final String ID_RECUP_AMC_STATISTIQUES = "recup-statistiques";
     
     public MessageHelper() {}
     
@@ -0,0 +1,78 @@
+package seisco.util.graphe;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * Attribue des numéros consécutifs aux {@link Noeud} ou aux {@link Arc}
+ * d'un {@link Graphe}.
+ *
+ * <p>
+ * Chaque graphe possède ses propres allocateurs, numérotés à partir de 0 :
+ * plusieurs graphes peuvent être construits en même temps dans une même JVM
+ * (par exemple par plusieurs AMC d'un même conteneur), et les numéros restent
+ * denses et utilisables comme indices de tableau. L'attribution est atomique.
+ *
+ * @version 2013
+ * @see Graphe#creerNoeud()
+ * @see Graphe#creerArc(seisco.util.graphe.Noeud, seisco.util.graphe.Noeud)
+ */
+public class AllocateurIds implements Serializable {
+
+    private final AtomicInteger prochain;
+
+    /**
+     * <p>Instancie un allocateur dont le premier numéro attribué est 0
+     *
+     * @since 2013
+     */
+    public AllocateurIds() {
+        this(0);
+    }
+
+    /**
+     * <p>Instancie un allocateur
+     *
+     * @param premier le premier numéro attribué
+     * @since 2013
+     */
+    public AllocateurIds(int premier) {
+        this.prochain = new AtomicInteger(premier);
+    }
+
+    /**
+     * <p>Attribue un nouveau numéro
+     *
+     * @return le numéro attribué
+     * @since 2013
+     */
+    public int suivant() {
+        return prochain.getAndIncrement();
+    }
+
+    /**
+     * <p>Retourne le prochain numéro qui sera attribué, sans l'attribuer
+     *
+     * @return le prochain numéro
+     * @since 2013
+     */
+    public int prochain() {
+        return prochain.get();
+    }
+
+    /**
+     * <p>Recommence la numérotation
+     *
+     * @param premier le prochain numéro attribué
+     * @since 2013
+     */
+    public void reinitialiser(int premier) {
+        prochain.set(premier);
+    }
+
+    @Override
+    public String toString() {
+        return "AllocateurIds[" + prochain.get() + "]";
+    }
+}
@@ -2,6 +2,8 @@ package seisco.util.graphe;
 
 import jade.content.Concept;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import seisco.util.Propriete;
 
@@ -21,7 +23,11 @@ public class Arc implements Concept {
      */
 	public final static String NOM_COUT_PARCOURS = "coutparcours";
 	
-	private static int lastNum = 1;
+    /**
+     * <p>
+     * Numérotation commune aux arcs créés sans {@link Graphe}, à partir de 1.
+     */
+	private static final AllocateurIds NUMEROTATION = new AllocateurIds(1);
 	protected int num;
 	
     /**
@@ -46,6 +52,21 @@ public class Arc implements Concept {
     protected Noeud depart;
     protected Noeud arrivee;
     private boolean inv;
+
+    /**
+     * <p>
+     * Registres du {@link Graphe} ayant indexé l'arc, et coûts et propriétés
+     * rangés à la position de leur identifiant. Tant que l'arc n'est pas
+     * indexé, les recherches par nom parcourent {@link #couts} et
+     * {@link #proprietes}.
+     *
+     * @since 2013
+     * @see #indexer(seisco.util.graphe.RegistreNoms, seisco.util.graphe.RegistreNoms)
+     */
+    private RegistreNoms registreCouts;
+    private RegistreNoms registreProprietes;
+    private Cout[] coutsParId;
+    private Propriete[] proprietesParId;
 	
     /**
      * <p>
@@ -53,17 +74,15 @@ public class Arc implements Concept {
      * Constructeur par défaut, ne peut être appelé explicitement
      * </p>
      * 
-     * @param increaseNum
-     *  sert à savoir si le prochain arc instancié aura le même
-     *  numéro (<b>false</b>) ou un numéro suivant (<b>true</b>)
-     * @since 2012
+     * @param num le numéro de l'arc
+     * @since 2013
      * @see #Arc(seisco.util.graphe.Noeud, seisco.util.graphe.Noeud, boolean) 
-     * @see #Arc(seisco.util.graphe.Noeud, seisco.util.graphe.Noeud) 
+     * @see #Arc(seisco.util.graphe.Noeud, seisco.util.graphe.Noeud, seisco.util.graphe.AllocateurIds) 
      */
-    private Arc(boolean increaseNum) {
+    private Arc(int num) {
         super();
 		
-		this.num = (increaseNum) ? Arc.lastNum++ : Arc.lastNum;
+		this.num = num;
 		
         this.couts = new ArrayList<Cout>();
         this.proprietes = new ArrayList<Propriete>();
@@ -78,10 +97,25 @@ public class Arc implements Concept {
      *  sert à savoir si le prochain arc instancié aura le même
      *  numéro (<b>false</b>) ou un numéro suivant (<b>true</b>)
      * @since 2012
-     * @see #Arc(boolean) 
+     * @see Graphe#creerArc(seisco.util.graphe.Noeud, seisco.util.graphe.Noeud)
      */
 	public Arc(Noeud depart, Noeud arrivee, boolean increaseNum) {
-		this(increaseNum);
+		this(increaseNum ? NUMEROTATION.suivant() : NUMEROTATION.prochain());
+		this.depart = depart;
+		this.arrivee = arrivee;
+	}
+
+    /**
+     * <p>Instancie un arc numéroté par l'allocateur fourni.
+     * 
+     * @param depart le nœud de départ de l'arc
+     * @param arrivee le nœud d'arrivée de l'arc
+     * @param allocateur l'allocateur des numéros d'arcs du graphe
+     * @since 2013
+     * @see Graphe#creerArc(seisco.util.graphe.Noeud, seisco.util.graphe.Noeud)
+     */
+	public Arc(Noeud depart, Noeud arrivee, AllocateurIds allocateur) {
+		this(allocateur.suivant());
 		this.depart = depart;
 		this.arrivee = arrivee;
 	}
@@ -101,45 +135,59 @@ public class Arc implements Concept {
     /**
      * <p>Retourne la {@link List} des {@link Cout} de l'arc.
      * 
-     * @return les différents coûts de l'arc
+     * <p>
+     * La liste n'est pas modifiable : les coûts s'ajoutent et se retirent
+     * par {@link #ajouterCout(seisco.util.graphe.Cout)} et
+     * {@link #retirerCout(seisco.util.graphe.Cout)}, qui tiennent à jour
+     * l'index lu par {@link #getCout(java.lang.String)}.
+     * 
+     * @return les différents coûts de l'arc, en lecture seule
      * @since 2008
      * @see #setCouts(java.util.List) 
      */
     public List<Cout> getCouts() {
-        return couts;
+        return Collections.unmodifiableList(couts);
     }
 
     /**
      * <p>Remplace la {@link List} des {@link Cout} de l'arc.
      * 
-     * @param couts les nouveaux coûts de l'arc
+     * @param couts les nouveaux coûts de l'arc, copiés
      * @since 2008
      * @see #getCouts() 
      */
     public void setCouts(List<Cout> couts) {
-        this.couts = couts;
+        this.couts = new ArrayList<Cout>(couts);
+        indexerCouts();
     }
 
     /**
      * <p>Retourne la {@link List} des {@link Propriete} de l'arc.
      * 
-     * @return les différentes propriétés de l'arc
+     * <p>
+     * La liste n'est pas modifiable : les propriétés s'ajoutent et se
+     * retirent par {@link #ajouterPropriete(seisco.util.Propriete)} et
+     * {@link #retirerPropriete(seisco.util.Propriete)}, qui tiennent à jour
+     * l'index lu par {@link #getPropriete(java.lang.String)}.
+     * 
+     * @return les différentes propriétés de l'arc, en lecture seule
      * @since 2008
      * @see #setProprietes(java.util.List) 
      */
     public List<Propriete> getProprietes() {
-        return proprietes;
+        return Collections.unmodifiableList(proprietes);
     }
 
     /**
      * <p>Remplace la {@link List} des {@link Propriete} de l'arc.
      * 
-     * @param proprietes les nouvelles propriétés de l'arc
+     * @param proprietes les nouvelles propriétés de l'arc, copiées
      * @since 2008
      * @see #getProprietes() 
      */
     public void setProprietes(List<Propriete> proprietes) {
-        this.proprietes = proprietes;
+        this.proprietes = new ArrayList<Propriete>(proprietes);
+        indexerProprietes();
     }
 
     /**
@@ -155,11 +203,15 @@ public class Arc implements Concept {
      * @see #retirerPropriete(java.lang.String) 
      */
     public boolean ajouterPropriete(Propriete nouvellePropriete) {
-        for(Propriete p : proprietes)
-            if(p.equals(nouvellePropriete))
-                return false; 
+        if(getPropriete(nouvellePropriete.getNom()) != null)
+            return false; 
 
-        return proprietes.add(nouvellePropriete);
+        if(!proprietes.add(nouvellePropriete))
+            return false;
+
+        if(registreProprietes != null)
+            proprietesParId = ranger(proprietesParId, registreProprietes.id(nouvellePropriete.getNom()), nouvellePropriete);
+        return true;
     }
 
     /**
@@ -173,7 +225,11 @@ public class Arc implements Concept {
      * @see #ajouterPropriete(seisco.util.Propriete) 
      */
     public boolean retirerPropriete(Propriete p) {
-        return proprietes.remove(p);
+        if(!proprietes.remove(p))
+            return false;
+
+        indexerProprietes();
+        return true;
     }
 
     /**
@@ -189,7 +245,7 @@ public class Arc implements Concept {
     public boolean retirerPropriete(String nomPropriete) {
         for(Propriete p : proprietes)
             if(p.getNom().equals(nomPropriete))
-                return proprietes.remove(p);
+                return retirerPropriete(p);
 
         return false;		
     }
@@ -207,11 +263,15 @@ public class Arc implements Concept {
      * @see #retirerCout(java.lang.String) 
      */
     public boolean ajouterCout(Cout nouveauCout) {
-        for(Cout c : couts)
-            if(c != null && c.equals(nouveauCout))
-                return false;
+        if(getCout(nouveauCout.getNom()) != null)
+            return false;
 
-        return couts.add(nouveauCout);
+        if(!couts.add(nouveauCout))
+            return false;
+
+        if(registreCouts != null)
+            coutsParId = ranger(coutsParId, registreCouts.id(nouveauCout.getNom()), nouveauCout);
+        return true;
     }
 
     /**
@@ -225,7 +285,11 @@ public class Arc implements Concept {
      * @see #ajouterCout(seisco.util.graphe.Cout) 
      */
     public boolean retirerCout(Cout c) {
-        return couts.remove(c);
+        if(!couts.remove(c))
+            return false;
+
+        indexerCouts();
+        return true;
     }
 
     /**
@@ -241,7 +305,7 @@ public class Arc implements Concept {
     public boolean retirerCout(String nomCout) {
         for(Cout c : couts)
             if(c.getNom().equals(nomCout))
-                return couts.remove(c);
+                return retirerCout(c);
 
         return false;
     }
@@ -257,16 +321,16 @@ public class Arc implements Concept {
      * @since 2008
      */
     public boolean coutPresent(String name) {
-        for(Cout c : couts)
-            if(c.getNom().equals(name))
-                return true;
-
-        return false;
+        return getCout(name) != null;
     }
 
     /**
      * <p>Retourne un {@link Cout} par rapport à son nom.
      * 
+     * <p>
+     * Si l'arc est indexé, le nom est converti en identifiant par le
+     * registre du {@link Graphe} puis lu par {@link #getCout(int)}.
+     * 
      * @param name le nom du coût à récupérer
      * @return
      *  <p> <b>null</b> si le coût n'est pas présent sur l'arc
@@ -274,8 +338,8 @@ public class Arc implements Concept {
      * @since 2008
      */
     public Cout getCout(String name) {
-        if(!coutPresent(name))
-            return null;
+        if(registreCouts != null)
+            return getCout(registreCouts.chercher(name));
 
         for(Cout c : couts)
             if(c.getNom().equals(name))
@@ -284,6 +348,22 @@ public class Arc implements Concept {
         return null;
     }
 
+    /**
+     * <p>Retourne un {@link Cout} par rapport à son identifiant.
+     * 
+     * @param id l'identifiant du nom du coût dans {@link Graphe#getRegistreCouts()}
+     * @return
+     *  <p> <b>null</b> si le coût n'est pas présent sur l'arc
+     *      ou si l'arc n'est pas indexé
+     *  <p> sinon le {@link Cout} correspondant à <code>id</code>
+     * @since 2013
+     * @see RegistreNoms#chercher(java.lang.String)
+     */
+    public Cout getCout(int id) {
+        Cout[] index = coutsParId;
+        return (index != null && id >= 0 && id < index.length) ? index[id] : null;
+    }
+
     /**
      * <p>Vérifie si une {@link Propriete} est bien présente sur l'arc
      * 
@@ -295,11 +375,7 @@ public class Arc implements Concept {
      * @since 2008
      */
     public boolean proprietePresente(String name) {
-        for(Propriete p : proprietes)
-            if(p.getNom().equals(name))
-                return true;
-
-        return false;
+        return getPropriete(name) != null;
     }
 
     /**
@@ -312,8 +388,8 @@ public class Arc implements Concept {
      * @since 2008
      */
     public Propriete getPropriete(String name) {
-        if(!proprietePresente(name))
-            return null;
+        if(registreProprietes != null)
+            return getPropriete(registreProprietes.chercher(name));
 
         for(Propriete p : proprietes)
             if(p.getNom().equals(name))
@@ -322,6 +398,83 @@ public class Arc implements Concept {
         return null;
     }
 
+    /**
+     * <p>Retourne une {@link Propriete} par rapport à son identifiant.
+     * 
+     * @param id l'identifiant du nom de la propriété dans {@link Graphe#getRegistreProprietes()}
+     * @return
+     *  <p> <b>null</b> si la propriété n'est pas présente sur l'arc
+     *      ou si l'arc n'est pas indexé
+     *  <p> sinon la {@link Propriete} qui correspond à <code>id</code>
+     * @since 2013
+     * @see RegistreNoms#chercher(java.lang.String)
+     */
+    public Propriete getPropriete(int id) {
+        Propriete[] index = proprietesParId;
+        return (index != null && id >= 0 && id < index.length) ? index[id] : null;
+    }
+
+    /**
+     * <p>
+     * Indexe les coûts et les propriétés de l'arc selon les registres
+     * d'un {@link Graphe}. Appelé par le graphe pour ses arcs ; les listes
+     * {@link #getCouts()} et {@link #getProprietes()} n'étant pas
+     * modifiables, l'index reste à jour.
+     * 
+     * @param registreCouts le registre des noms de coûts
+     * @param registreProprietes le registre des noms de propriétés
+     * @since 2013
+     * @see Graphe#getRegistreCouts()
+     * @see Graphe#getRegistreProprietes()
+     */
+    public void indexer(RegistreNoms registreCouts, RegistreNoms registreProprietes) {
+        this.registreCouts = registreCouts;
+        this.registreProprietes = registreProprietes;
+        indexerCouts();
+        indexerProprietes();
+    }
+
+    /**
+     * <p>Indique si l'arc est indexé par le registre donné
+     * 
+     * @param registreCouts le registre des noms de coûts d'un graphe
+     * @return
+     *  <p> <b>true</b> si les coûts de l'arc sont rangés selon ce registre
+     *  <p> <b>false</b> sinon
+     * @since 2013
+     */
+    public boolean estIndexe(RegistreNoms registreCouts) {
+        return this.registreCouts == registreCouts;
+    }
+
+    private void indexerCouts() {
+        if(registreCouts == null)
+            return;
+
+        Cout[] index = new Cout[registreCouts.taille()];
+        for(Cout c : couts)
+            index = ranger(index, registreCouts.id(c.getNom()), c);
+        coutsParId = index;
+    }
+
+    private void indexerProprietes() {
+        if(registreProprietes == null)
+            return;
+
+        Propriete[] index = new Propriete[registreProprietes.taille()];
+        for(Propriete p : proprietes)
+            index = ranger(index, registreProprietes.id(p.getNom()), p);
+        proprietesParId = index;
+    }
+
+    private static <T> T[] ranger(T[] index, int id, T valeur) {
+        if(id >= index.length)
+            index = Arrays.copyOf(index, id + 1);
+
+        index[id] = valeur;
+        return index;
+    }
+
     /**
      * <p>Retourne le {@link Noeud} de {@link #depart} de l'arc 
      * 
@@ -467,8 +620,14 @@ public class Arc implements Concept {
      * @since 2012
      */
     public Arc clone() {
-        Arc clone = new Arc(depart, arrivee, false);
+        Arc clone = new Arc(this.num);
+        clone.depart = this.depart;
+        clone.arrivee = this.arrivee;
         clone.inv = this.inv;
+        clone.registreCouts = this.registreCouts;
+        clone.registreProprietes = this.registreProprietes;
+        clone.coutsParId = (this.registreCouts == null) ? null : new Cout[0];
+        clone.proprietesParId = (this.registreProprietes == null) ? null : new Propriete[0];
         
         for (Cout cout : this.couts)
             clone.ajouterCout(cout);
@@ -485,8 +644,13 @@ public class Arc implements Concept {
      * Remise à zéro du comptage des arcs
      * 
      * @since 2012
+     * @deprecated
+     *  la numérotation commune est partagée par tous les graphes de la JVM ;
+     *  utiliser {@link Graphe#creerArc(seisco.util.graphe.Noeud, seisco.util.graphe.Noeud)},
+     *  numéroté par graphe à partir de 0
      */
+    @Deprecated
     public static void init() {
-        lastNum = 1;
+        NUMEROTATION.reinitialiser(1);
     }
 }
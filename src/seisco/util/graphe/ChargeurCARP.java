@@ -0,0 +1,316 @@
+package seisco.util.graphe;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Lit un fichier d'instance CARP au format des jeux de test usuels
+ * (gdb, val, egl en espagnol ; bmcv en anglais) :
+ * <pre>
+ * NOMBRE : gdb1
+ * VERTICES : 12
+ * ARISTAS_REQ : 22
+ * CAPACIDAD : 5
+ * LISTA_ARISTAS_REQ :
+ *  ( 1, 2)   coste 13   demanda 1
+ *  ...
+ * DEPOSITO :   1
+ * </pre>
+ *
+ * <p>
+ * Le fichier est lu par blocs à travers un {@link FileChannel}, et les
+ * lignes d'arêtes sont analysées octet par octet vers des tableaux
+ * primitifs, sans créer de {@link String} ni d'objet par arête.
+ * Les en-têtes inconnus (commentaire, coût total...) sont ignorés.
+ *
+ * @version 2013
+ * @see InstanceCARP
+ */
+public class ChargeurCARP {
+
+    private static final int TAILLE_TAMPON = 64 * 1024;
+    private static final Charset LATIN1 = Charset.forName("ISO-8859-1");
+
+    private static final int SECTION_AUCUNE = 0;
+    private static final int SECTION_REQUISES = 1;
+    private static final int SECTION_NON_REQUISES = 2;
+
+    private final FileChannel canal;
+    private final ByteBuffer tampon;
+    private byte[] ligne;
+    private int longueur;
+    private int curseur;
+    private int numeroLigne;
+
+    private String nom;
+    private int nbNoeuds = -1;
+    private int depot = 0;
+    private int nbVehicules = 0;
+    private float capacite = Float.POSITIVE_INFINITY;
+    private int section = SECTION_AUCUNE;
+
+    /* Arêtes requises puis non requises, lues dans deux listes séparées */
+    private final Aretes requises = new Aretes();
+    private final Aretes nonRequises = new Aretes();
+
+    private ChargeurCARP(FileChannel canal) {
+        this.canal = canal;
+        this.tampon = ByteBuffer.allocateDirect(TAILLE_TAMPON);
+        this.tampon.limit(0);
+        this.ligne = new byte[256];
+    }
+
+    /**
+     * <p>Lit une instance dont le chemin est donné par la configuration (clé <code>carp.probleme</code>)
+     *
+     * @param chemin le chemin du fichier d'instance
+     * @return l'instance lue
+     * @throws IOException si le fichier ne peut être lu ou est mal formé
+     * @since 2013
+     */
+    public static InstanceCARP charger(String chemin) throws IOException {
+        return charger(new File(chemin));
+    }
+
+    /**
+     * <p>Lit une instance CARP
+     *
+     * @param fichier le fichier d'instance
+     * @return l'instance lue
+     * @throws IOException si le fichier ne peut être lu ou est mal formé
+     * @since 2013
+     */
+    public static InstanceCARP charger(File fichier) throws IOException {
+        FileChannel canal = FileChannel.open(fichier.toPath(), StandardOpenOption.READ);
+        try {
+            ChargeurCARP chargeur = new ChargeurCARP(canal);
+            if (chargeur.nom == null)
+                chargeur.nom = fichier.getName();
+            return chargeur.lire();
+        } finally {
+            canal.close();
+        }
+    }
+
+    private InstanceCARP lire() throws IOException {
+        while (lireLigne()) {
+            curseur = 0;
+            sauterBlancs();
+            if (curseur == longueur)
+                continue;
+
+            if (ligne[curseur] == '(')
+                lireArete();
+            else
+                lireEntete();
+        }
+
+        int nbRequises = requises.taille;
+        int m = nbRequises + nonRequises.taille;
+        int[] origines = Arrays.copyOf(requises.origines, m);
+        int[] destinations = Arrays.copyOf(requises.destinations, m);
+        float[] couts = Arrays.copyOf(requises.couts, m);
+        float[] demandes = Arrays.copyOf(requises.demandes, m);
+        System.arraycopy(nonRequises.origines, 0, origines, nbRequises, nonRequises.taille);
+        System.arraycopy(nonRequises.destinations, 0, destinations, nbRequises, nonRequises.taille);
+        System.arraycopy(nonRequises.couts, 0, couts, nbRequises, nonRequises.taille);
+        System.arraycopy(nonRequises.demandes, 0, demandes, nbRequises, nonRequises.taille);
+
+        // Sans en-tête VERTICES, le plus grand numéro de nœud fait foi
+        int max = Math.max(depot, 0);
+        for (int e = 0; e < m; e++)
+            max = Math.max(max, Math.max(origines[e], destinations[e]));
+        if (nbNoeuds < 0)
+            nbNoeuds = max + 1;
+        else if (max >= nbNoeuds)
+            throw new IOException("Le nœud " + (max + 1) + " dépasse le nombre de nœuds annoncé : " + nbNoeuds);
+
+        return new InstanceCARP(nom, nbNoeuds, depot, nbVehicules, capacite, nbRequises,
+                origines, destinations, couts, demandes);
+    }
+
+    /**
+     * <p>Lit une ligne <code>CLE : valeur</code>, les clés étant reconnues en espagnol et en anglais
+     */
+    private void lireEntete() throws IOException {
+        int deuxPoints = curseur;
+        while (deuxPoints < longueur && ligne[deuxPoints] != ':')
+            deuxPoints++;
+
+        String cle = new String(ligne, curseur, deuxPoints - curseur, LATIN1).trim().toUpperCase();
+        curseur = Math.min(deuxPoints + 1, longueur);
+        sauterBlancs();
+
+        if (cle.startsWith("LISTA_ARISTAS_NOREQ") || cle.startsWith("LIST_NON_REQ")
+                || cle.startsWith("LIST_NOREQ") || cle.startsWith("NON-REQUIRED EDGES LIST")) {
+            section = SECTION_NON_REQUISES;
+        } else if (cle.startsWith("LISTA_ARISTAS_REQ") || cle.startsWith("LIST_REQ")
+                || cle.startsWith("REQUIRED EDGES LIST")) {
+            section = SECTION_REQUISES;
+        } else if (cle.equals("NOMBRE") || cle.equals("NAME")) {
+            nom = new String(ligne, curseur, longueur - curseur, LATIN1).trim();
+        } else if (cle.equals("VERTICES") || cle.equals("NUMBER OF VERTICES") || cle.equals("NODES")) {
+            nbNoeuds = (int) lireNombre();
+        } else if (cle.equals("VEHICULOS") || cle.equals("VEHICLES")) {
+            nbVehicules = (int) lireNombre();
+        } else if (cle.equals("CAPACIDAD") || cle.equals("CAPACITY")) {
+            capacite = lireNombre();
+        } else if (cle.equals("DEPOSITO") || cle.equals("DEPOT")) {
+            depot = (int) lireNombre() - 1;
+        } else if (cle.equals("ARISTAS_REQ") || cle.equals("REQUIRED EDGES")) {
+            requises.reserver((int) lireNombre());
+        } else if (cle.equals("ARISTAS_NOREQ") || cle.equals("NON-REQUIRED EDGES")) {
+            nonRequises.reserver((int) lireNombre());
+        }
+    }
+
+    /**
+     * <p>Lit une ligne <code>( u, v) coste c demanda d</code> (ou <code>cost</code> / <code>demand</code>)
+     */
+    private void lireArete() throws IOException {
+        curseur++;
+        int u = (int) lireNombre() - 1;
+        int v = (int) lireNombre() - 1;
+        while (curseur < longueur && ligne[curseur] != ')')
+            curseur++;
+        curseur++;
+
+        float cout = 0, demande = 0;
+        boolean coutLu = false;
+        while (true) {
+            sauterBlancs();
+            if (curseur >= longueur)
+                break;
+
+            // Mot-clé : seule son initiale compte (coste/cost, demanda/demand) ;
+            // sans mot-clé, le coût précède la demande
+            int initiale = Character.toLowerCase(ligne[curseur]);
+            if (estChiffre(ligne[curseur]))
+                initiale = coutLu ? 'd' : 'c';
+            while (curseur < longueur && (Character.isLetter(ligne[curseur] & 0xff) || ligne[curseur] == '_'))
+                curseur++;
+
+            if (initiale == 'c' && !coutLu) {
+                cout = lireNombre();
+                coutLu = true;
+            } else if (initiale == 'd') {
+                demande = lireNombre();
+            } else {
+                lireNombre();
+            }
+        }
+
+        if (u < 0 || v < 0 || !coutLu)
+            throw new IOException("Ligne " + numeroLigne + " : arête mal formée");
+
+        boolean requise = (section == SECTION_REQUISES)
+                || (section == SECTION_AUCUNE && demande > 0);
+        (requise ? requises : nonRequises).ajouter(u, v, cout, demande);
+    }
+
+    /**
+     * <p>Lit un nombre positif, éventuellement décimal, après les séparateurs
+     */
+    private float lireNombre() throws IOException {
+        while (curseur < longueur && !estChiffre(ligne[curseur]))
+            curseur++;
+        if (curseur == longueur)
+            throw new IOException("Ligne " + numeroLigne + " : nombre attendu");
+
+        long entier = 0;
+        while (curseur < longueur && estChiffre(ligne[curseur]))
+            entier = entier * 10 + (ligne[curseur++] - '0');
+
+        float valeur = entier;
+        if (curseur < longueur && ligne[curseur] == '.') {
+            curseur++;
+            float echelle = 0.1f;
+            while (curseur < longueur && estChiffre(ligne[curseur])) {
+                valeur += (ligne[curseur++] - '0') * echelle;
+                echelle /= 10;
+            }
+        }
+
+        return valeur;
+    }
+
+    private static boolean estChiffre(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private void sauterBlancs() {
+        while (curseur < longueur && (ligne[curseur] == ' ' || ligne[curseur] == '\t' || ligne[curseur] == '\r'))
+            curseur++;
+    }
+
+    /**
+     * <p>Copie la ligne suivante du canal dans {@link #ligne}
+     *
+     * @return <b>false</b> à la fin du fichier
+     */
+    private boolean lireLigne() throws IOException {
+        longueur = 0;
+        while (true) {
+            if (!tampon.hasRemaining()) {
+                tampon.clear();
+                int lus = canal.read(tampon);
+                tampon.flip();
+                if (lus < 0) {
+                    numeroLigne++;
+                    return longueur > 0;
+                }
+                continue;
+            }
+
+            byte b = tampon.get();
+            if (b == '\n') {
+                numeroLigne++;
+                return true;
+            }
+
+            if (longueur == ligne.length)
+                ligne = Arrays.copyOf(ligne, longueur * 2);
+            ligne[longueur++] = b;
+        }
+    }
+
+    /**
+     * <p>Tableaux extensibles d'arêtes
+     */
+    private static class Aretes {
+        int taille;
+        int[] origines = new int[16];
+        int[] destinations = new int[16];
+        float[] couts = new float[16];
+        float[] demandes = new float[16];
+
+        void reserver(int capacite) {
+            if (capacite > origines.length)
+                redimensionner(capacite);
+        }
+
+        void ajouter(int u, int v, float cout, float demande) {
+            if (taille == origines.length)
+                redimensionner(taille * 2);
+
+            origines[taille] = u;
+            destinations[taille] = v;
+            couts[taille] = cout;
+            demandes[taille] = demande;
+            taille++;
+        }
+
+        private void redimensionner(int capacite) {
+            origines = Arrays.copyOf(origines, capacite);
+            destinations = Arrays.copyOf(destinations, capacite);
+            couts = Arrays.copyOf(couts, capacite);
+            demandes = Arrays.copyOf(demandes, capacite);
+        }
+    }
+}
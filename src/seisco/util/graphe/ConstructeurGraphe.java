@@ -0,0 +1,212 @@
+package seisco.util.graphe;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Construit un {@link Graphe} en écartant les arcs en double en temps
+ * constant, là où {@link Noeud#addAdjacent(seisco.util.graphe.Arc)} parcourt
+ * les adjacents du nœud à chaque ajout.
+ *
+ * <p>
+ * Chaque arc est identifié par le couple <code>(départ, arrivée)</code> des
+ * numéros de ses nœuds, dans son sens d'origine (avant {@link Arc#swap()}),
+ * comme pour {@link Arc#equals(java.lang.Object)}. Le couple est rangé dans
+ * un <code>long</code> et les couples déjà vus sont gardés dans une table à
+ * adressage ouvert : la construction est linéaire en nombre d'arcs, même
+ * pour les graphes denses ou les nœuds de fort degré.
+ *
+ * <pre>
+ * ConstructeurGraphe constructeur = new ConstructeurGraphe("reseau", m);
+ * ...
+ * constructeur.ajouterArc(u, v);
+ * Graphe graphe = constructeur.construire();
+ * </pre>
+ *
+ * @version 2013
+ * @see Graphe#creerArc(seisco.util.graphe.Noeud, seisco.util.graphe.Noeud)
+ */
+public class ConstructeurGraphe {
+
+    private final Graphe graphe;
+    private final EnsembleCouples vus;
+
+    /**
+     * <p>Instancie un constructeur de graphe vide
+     *
+     * @param nom le nom du graphe
+     * @since 2013
+     */
+    public ConstructeurGraphe(String nom) {
+        this(nom, 16);
+    }
+
+    /**
+     * <p>Instancie un constructeur de graphe dimensionné pour un nombre d'arcs prévu
+     *
+     * @param nom le nom du graphe
+     * @param nbArcsPrevus le nombre d'arcs attendu, pour éviter les redimensionnements
+     * @since 2013
+     */
+    public ConstructeurGraphe(String nom, int nbArcsPrevus) {
+        this.graphe = new Graphe(nom);
+        this.vus = new EnsembleCouples(nbArcsPrevus);
+    }
+
+    /**
+     * <p>Crée un nœud du graphe
+     *
+     * @return le nœud créé
+     * @since 2013
+     * @see Graphe#creerNoeud()
+     */
+    public Noeud ajouterNoeud() {
+        return graphe.creerNoeud();
+    }
+
+    /**
+     * <p>Crée un arc du graphe, s'il n'existe pas déjà
+     *
+     * @param depart le nœud de départ de l'arc
+     * @param arrivee le nœud d'arrivée de l'arc
+     * @return l'arc créé, ou <b>null</b> si un arc identique a déjà été ajouté
+     * @since 2013
+     * @see Graphe#creerArc(seisco.util.graphe.Noeud, seisco.util.graphe.Noeud)
+     */
+    public Arc ajouterArc(Noeud depart, Noeud arrivee) {
+        if (!vus.ajouter(cle(depart, arrivee)))
+            return null;
+
+        return graphe.creerArc(depart, arrivee);
+    }
+
+    /**
+     * <p>
+     * Ajoute un arc déjà instancié au graphe et aux adjacents de son nœud
+     * de départ, s'il n'existe pas déjà. L'arc est indexé par les registres
+     * du graphe et garde son numéro.
+     *
+     * @param arc l'arc à ajouter
+     * @return
+     *  <p> <b>true</b> si l'arc a été ajouté
+     *  <p> <b>false</b> si un arc identique a déjà été ajouté
+     * @since 2013
+     */
+    public boolean ajouterArc(Arc arc) {
+        long cle = arc.isInv() ? cle(arc.getArrivee(), arc.getDepart()) : cle(arc.getDepart(), arc.getArrivee());
+        if (!vus.ajouter(cle))
+            return false;
+
+        arc.indexer(graphe.registreCouts, graphe.registreProprietes);
+        arc.getDepart().adjacents.add(arc);
+        graphe.arcs.add(arc);
+        return true;
+    }
+
+    /**
+     * <p>Indique si un arc a déjà été ajouté entre deux nœuds
+     *
+     * @param depart le nœud de départ
+     * @param arrivee le nœud d'arrivée
+     * @return <b>true</b> si l'arc <code>(depart, arrivee)</code> a déjà été ajouté
+     * @since 2013
+     */
+    public boolean contientArc(Noeud depart, Noeud arrivee) {
+        return vus.contient(cle(depart, arrivee));
+    }
+
+    /**
+     * <p>Retourne le graphe construit
+     *
+     * @return le graphe, qui peut encore être complété par ce constructeur
+     * @since 2013
+     */
+    public Graphe construire() {
+        return graphe;
+    }
+
+    private static long cle(Noeud depart, Noeud arrivee) {
+        return ((long) depart.getNumero() << 32) | (arrivee.getNumero() & 0xFFFFFFFFL);
+    }
+
+    /**
+     * <p>
+     * Ensemble de <code>long</code> à adressage ouvert et sondage linéaire,
+     * sans objet par élément. La valeur {@link #VIDE} marque une case libre
+     * et est suivie à part.
+     */
+    private static class EnsembleCouples {
+        private static final long VIDE = Long.MIN_VALUE;
+
+        private long[] cles;
+        private int taille;
+        private boolean contientVide;
+
+        EnsembleCouples(int capacite) {
+            int longueur = 16;
+            while (longueur < 2 * capacite && longueur < (1 << 30))
+                longueur <<= 1;
+            cles = new long[longueur];
+            Arrays.fill(cles, VIDE);
+        }
+
+        boolean contient(long cle) {
+            if (cle == VIDE)
+                return contientVide;
+
+            int masque = cles.length - 1;
+            for (int i = indice(cle, masque); cles[i] != VIDE; i = (i + 1) & masque)
+                if (cles[i] == cle)
+                    return true;
+
+            return false;
+        }
+
+        /**
+         * @return <b>false</b> si la clé était déjà présente
+         */
+        boolean ajouter(long cle) {
+            if (cle == VIDE) {
+                boolean ajoute = !contientVide;
+                contientVide = true;
+                return ajoute;
+            }
+
+            int masque = cles.length - 1;
+            int i = indice(cle, masque);
+            while (cles[i] != VIDE) {
+                if (cles[i] == cle)
+                    return false;
+                i = (i + 1) & masque;
+            }
+
+            cles[i] = cle;
+            // Taux de remplissage maximal : 1/2
+            if (++taille * 2 > cles.length)
+                agrandir();
+            return true;
+        }
+
+        private void agrandir() {
+            long[] anciennes = cles;
+            cles = new long[anciennes.length * 2];
+            Arrays.fill(cles, VIDE);
+
+            int masque = cles.length - 1;
+            for (long cle : anciennes) {
+                if (cle == VIDE)
+                    continue;
+                int i = indice(cle, masque);
+                while (cles[i] != VIDE)
+                    i = (i + 1) & masque;
+                cles[i] = cle;
+            }
+        }
+
+        private static int indice(long cle, int masque) {
+            // Mélange de Fibonacci : les numéros consécutifs se répartissent sur toute la table
+            long h = cle * 0x9E3779B97F4A7C15L;
+            return (int) (h >>> 32) & masque;
+        }
+    }
+}
@@ -32,9 +32,10 @@ import jade.content.Concept;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * <p>
@@ -56,6 +57,12 @@ import java.util.PriorityQueue;
  * <ul>
  *  <li>{@link #initialiserDistancier(seisco.util.graphe.Graphe)}</li>
  * </ul>
+ * ou, si la vue compacte du graphe est déjà construite :
+ * <ul>
+ *  <li>{@link #initialiserDistancier(seisco.util.graphe.GrapheCompact)}</li>
+ *  <li>{@link #calculerDistancier(seisco.util.graphe.GrapheCompact)}, qui
+ *      retourne un {@link Distancier} compact</li>
+ * </ul>
  * 
  * @author Bruno Boi
  * @version 2012
@@ -67,37 +74,279 @@ public class Dijkstra implements Concept {
      * Retourne un distancier sous forme de matrice de {@link Float}.
      * Voir http://en.literateprograms.org/Dijkstra's_algorithm_(Java)?oldid=15444
      * 
+     * <p>
+     * Le calcul est effectué sur la vue compacte du graphe
+     * (voir {@link GrapheCompact}). La ligne et la colonne d'un nœud
+     * correspondent à sa position dans {@link Graphe#getNoeuds()}.
+     * 
      * @param graphe le graphe pour lequel calculer le distancier
      * @return un distancier sous forme de matrice de {@link Float}
      * @since 2012
+     * @see #initialiserDistancier(seisco.util.graphe.GrapheCompact)
      */
 	public static float[][] initialiserDistancier(Graphe graphe) {
-		List<Noeud> listeNoeuds = graphe.getNoeuds();
-		int nbNoeuds = listeNoeuds.size();
-		float[][] distancier = new float[nbNoeuds][nbNoeuds];
+		return initialiserDistancier(GrapheCompact.depuis(graphe));
+	}
 
-		for (int i = 0; i < nbNoeuds; i++)
-			Arrays.fill(distancier[i], 0);
+    /**
+     * <p>
+     * Retourne le distancier d'un {@link GrapheCompact} sous
+     * forme de matrice de {@link Float}, sans passer par les
+     * objets {@link Noeud} et {@link Arc}.
+     * 
+     * @param graphe la vue compacte du graphe
+     * @return un distancier sous forme de matrice de {@link Float}
+     * @since 2013
+     * @see #initialiserDistancier(seisco.util.graphe.GrapheCompact, seisco.util.graphe.MatricePredecesseurs)
+     */
+	public static float[][] initialiserDistancier(GrapheCompact graphe) {
+		return initialiserDistancier(graphe, null);
+	}
 
-		for (Iterator<Noeud> it = listeNoeuds.iterator(); it.hasNext();) {
-			Noeud n = it.next();
+    /**
+     * <p>
+     * Retourne le distancier d'un {@link GrapheCompact} sous
+     * forme de matrice de {@link Float} et remplit, si elle est
+     * fournie, la matrice des prédécesseurs de tous les plus courts chemins.
+     * 
+     * @param graphe la vue compacte du graphe
+     * @param predecesseurs
+     *  la matrice recevant les prédécesseurs,
+     *  ou <b>null</b> pour ne calculer que les distances
+     * @return un distancier sous forme de matrice de {@link Float}
+     * @since 2013
+     * @see #computePaths(seisco.util.graphe.GrapheCompact, int, float[], int[], seisco.util.graphe.FilePriorite)
+     * @see MatricePredecesseurs#chemin(int, int, int[])
+     */
+	public static float[][] initialiserDistancier(GrapheCompact graphe, MatricePredecesseurs predecesseurs) {
+		int nbNoeuds = graphe.getNbNoeuds();
+		float[][] distancier = new float[nbNoeuds][];
+		int[] precedents = new int[nbNoeuds];
+		FilePriorite tas = FilePriorite.creer(graphe);
+
+		for (int source = 0; source < nbNoeuds; source++) {
+			distancier[source] = new float[nbNoeuds];
+			computePaths(graphe, source, distancier[source], precedents, tas);
+			if (predecesseurs != null)
+				predecesseurs.setLigne(source, precedents);
+		}
+
+		return distancier;
+	}
 
-			// Calculer le poids des chemins
-			initPaths(graphe);
-			computePaths(n);
+    /**
+     * <p>
+     * Retourne le distancier d'un {@link Graphe} en calculant les lignes
+     * en parallèle sur tous les cœurs disponibles.
+     * 
+     * @param graphe le graphe pour lequel calculer le distancier
+     * @return un distancier sous forme de matrice de {@link Float}
+     * @since 2013
+     * @see #initialiserDistancierParallele(seisco.util.graphe.GrapheCompact, java.util.concurrent.ForkJoinPool)
+     */
+	public static float[][] initialiserDistancierParallele(Graphe graphe) {
+		return initialiserDistancierParallele(GrapheCompact.depuis(graphe));
+	}
 
-            // Rempli la ligne
-            int i = 0;
-            for (Noeud noeud : listeNoeuds)
-                distancier[n.getNumero() - 1][i++] = noeud.minDistance.getValeur();
+    /**
+     * <p>
+     * Retourne le distancier d'un {@link GrapheCompact} en calculant les
+     * lignes en parallèle, dans un {@link ForkJoinPool} dimensionné sur le
+     * nombre de processeurs et libéré à la fin du calcul.
+     * 
+     * @param graphe la vue compacte du graphe
+     * @return un distancier sous forme de matrice de {@link Float}
+     * @since 2013
+     * @see #initialiserDistancierParallele(seisco.util.graphe.GrapheCompact, java.util.concurrent.ForkJoinPool)
+     */
+	public static float[][] initialiserDistancierParallele(GrapheCompact graphe) {
+		ForkJoinPool pool = new ForkJoinPool();
+		try {
+			return initialiserDistancierParallele(graphe, pool);
+		} finally {
+			pool.shutdown();
 		}
+	}
+
+    /**
+     * <p>
+     * Retourne le distancier d'un {@link GrapheCompact} en calculant les
+     * lignes en parallèle dans le {@link ForkJoinPool} fourni.
+     * 
+     * @param graphe la vue compacte du graphe
+     * @param pool le pool dans lequel exécuter le calcul
+     * @return un distancier sous forme de matrice de {@link Float}
+     * @since 2013
+     * @see #initialiserDistancierParallele(seisco.util.graphe.GrapheCompact, seisco.util.graphe.MatricePredecesseurs, java.util.concurrent.ForkJoinPool)
+     */
+	public static float[][] initialiserDistancierParallele(GrapheCompact graphe, ForkJoinPool pool) {
+		return initialiserDistancierParallele(graphe, null, pool);
+	}
 
+    /**
+     * <p>
+     * Retourne le distancier d'un {@link GrapheCompact} en calculant les
+     * lignes en parallèle dans le {@link ForkJoinPool} fourni, et remplit
+     * si elle est fournie la matrice des prédécesseurs.
+     * 
+     * <p>
+     * Chaque tâche possède ses propres tableaux de travail et écrit
+     * directement dans les lignes de la matrice qui lui reviennent :
+     * aucun état n'est partagé entre les sources, contrairement à
+     * {@link #computePaths(seisco.util.graphe.Noeud)}.
+     * 
+     * @param graphe la vue compacte du graphe
+     * @param predecesseurs
+     *  la matrice recevant les prédécesseurs,
+     *  ou <b>null</b> pour ne calculer que les distances
+     * @param pool le pool dans lequel exécuter le calcul
+     * @return un distancier sous forme de matrice de {@link Float}
+     * @since 2013
+     */
+	public static float[][] initialiserDistancierParallele(GrapheCompact graphe, MatricePredecesseurs predecesseurs, ForkJoinPool pool) {
+		int nbNoeuds = graphe.getNbNoeuds();
+		float[][] distancier = new float[nbNoeuds][];
+		int seuil = Math.max(1, nbNoeuds / (pool.getParallelism() * 4));
+
+		pool.invoke(new CalculLignes(graphe, distancier, null, predecesseurs, 0, nbNoeuds, seuil));
 		return distancier;
 	}
 
+    /**
+     * <p>
+     * Retourne le distancier d'un {@link GrapheCompact} sous forme de
+     * {@link Distancier} : triangulaire si le graphe est symétrique,
+     * plein sinon. Les lignes sont calculées en parallèle.
+     * 
+     * @param graphe la vue compacte du graphe
+     * @return le distancier du graphe
+     * @since 2013
+     * @see #calculerDistancier(seisco.util.graphe.GrapheCompact, seisco.util.graphe.MatricePredecesseurs, java.util.concurrent.ForkJoinPool)
+     */
+	public static Distancier calculerDistancier(GrapheCompact graphe) {
+		ForkJoinPool pool = new ForkJoinPool();
+		try {
+			return calculerDistancier(graphe, null, pool);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+    /**
+     * <p>
+     * Retourne le distancier d'un {@link GrapheCompact} sous forme de
+     * {@link Distancier} en calculant les lignes en parallèle dans le
+     * {@link ForkJoinPool} fourni, et remplit si elle est fournie la
+     * matrice des prédécesseurs.
+     * 
+     * <p>
+     * Si aucune matrice des prédécesseurs n'est demandée et que le graphe
+     * est dense, le calcul est confié à {@link FloydWarshall}.
+     * 
+     * @param graphe la vue compacte du graphe
+     * @param predecesseurs
+     *  la matrice recevant les prédécesseurs,
+     *  ou <b>null</b> pour ne calculer que les distances
+     * @param pool le pool dans lequel exécuter le calcul
+     * @return le distancier du graphe
+     * @since 2013
+     * @see Distancier#creer(seisco.util.graphe.GrapheCompact)
+     * @see FloydWarshall#estAdapte(seisco.util.graphe.GrapheCompact)
+     */
+	public static Distancier calculerDistancier(GrapheCompact graphe, MatricePredecesseurs predecesseurs, ForkJoinPool pool) {
+		// Graphe dense : Floyd-Warshall par blocs (sans prédécesseurs)
+		if (predecesseurs == null && FloydWarshall.estAdapte(graphe))
+			return FloydWarshall.calculer(graphe, pool);
+
+		Distancier distancier = Distancier.creer(graphe);
+		int seuil = Math.max(1, graphe.getNbNoeuds() / (pool.getParallelism() * 4));
+
+		pool.invoke(new CalculLignes(graphe, null, distancier, predecesseurs, 0, graphe.getNbNoeuds(), seuil));
+		return distancier;
+	}
+
+    /**
+     * <p>
+     * Calcule les distances séparant la source des autres
+     * nœuds d'un {@link GrapheCompact}, en suivant le coût
+     * {@link Arc#NOM_COUT_PARCOURS}.
+     * 
+     * @param graphe la vue compacte du graphe
+     * @param source l'indice du nœud source
+     * @param distances reçoit la distance minimum de la source à chaque nœud
+     * @param precedents reçoit l'indice du nœud précédent sur le chemin le plus court
+     * @since 2013
+     * @see #computePaths(seisco.util.graphe.GrapheCompact, int, float[], int[], seisco.util.graphe.FilePriorite)
+     */
+	public static void computePaths(GrapheCompact graphe, int source, float[] distances, int[] precedents) {
+		computePaths(graphe, source, distances, precedents, FilePriorite.creer(graphe));
+	}
+
+    /**
+     * <p>
+     * Calcule les distances séparant la source des autres
+     * nœuds d'un {@link GrapheCompact}, en suivant le coût
+     * {@link Arc#NOM_COUT_PARCOURS}.
+     * 
+     * <p>
+     * Les tableaux et la file sont fournis par l'appelant et entièrement
+     * réinitialisés : ils peuvent être réutilisés d'une source à l'autre
+     * sans aucune allocation.
+     * 
+     * @param graphe la vue compacte du graphe
+     * @param source l'indice du nœud source
+     * @param distances
+     *  reçoit la distance minimum de la source à chaque nœud
+     *  ({@link Float#POSITIVE_INFINITY} si le nœud est inaccessible)
+     * @param precedents
+     *  reçoit l'indice du nœud précédent sur le chemin le plus court,
+     *  <b>-1</b> pour la source et les nœuds inaccessibles
+     * @param tas
+     *  la file de travail, d'une capacité au moins égale au nombre de nœuds,
+     *  de préférence créée par {@link FilePriorite#creer(seisco.util.graphe.GrapheCompact)}
+     * @since 2013
+     * @see FileSeaux
+     */
+	public static void computePaths(GrapheCompact graphe, int source, float[] distances, int[] precedents, FilePriorite tas) {
+		int[] offsets = graphe.getOffsets();
+		int[] cibles = graphe.getCibles();
+		float[] poids = graphe.getCoutsParcours();
+
+		Arrays.fill(distances, Float.POSITIVE_INFINITY);
+		Arrays.fill(precedents, -1);
+		distances[source] = 0;
+
+		tas.vider();
+		tas.insererOuDiminuer(source, 0);
+
+		while (!tas.estVide()) {
+			int u = tas.extraireMin();
+			float distanceU = distances[u];
+
+			// Visite chaque arc sortant de u
+			for (int k = offsets[u], fin = offsets[u + 1]; k < fin; k++) {
+				int v = cibles[k];
+
+				// Relaxer l'arc(u,v)
+				float distanceThroughU = distanceU + poids[k];
+
+				if (distanceThroughU < distances[v]) {
+					distances[v] = distanceThroughU;
+					precedents[v] = u;
+					tas.insererOuDiminuer(v, distanceThroughU);
+				}
+			}
+		}
+	}
+
     /**
      * <p>Retourne le chemin le plus court de la source à la cible.
      * 
+     * <p>
+     * Seule la dernière source calculée est disponible. Pour reconstruire
+     * les chemins de toutes les sources sans allocation, voir
+     * {@link MatricePredecesseurs#chemin(int, int, int[])}.
+     * 
      * @param target le {@link Noeud} ciblé
      * @return la liste des {@link Noeud} de la source à la cible
      * @since 2012
@@ -138,10 +387,8 @@ public class Dijkstra implements Concept {
 			// Visit each Arc exiting u
 			for (Arc a : u.adjacents) {
 				Noeud v = a.arrivee;
-				float weight = Float.POSITIVE_INFINITY;
-				for (Cout cout : a.couts)
-					if (cout.getNom().equals(Arc.NOM_COUT_PARCOURS))
-						weight = cout.getValeur();
+				Cout cout = a.getCout(Arc.NOM_COUT_PARCOURS);
+				float weight = (cout == null) ? Float.POSITIVE_INFINITY : cout.getValeur();
 
 				// Relaxer l'arc(u,v)
 				float distanceThroughU = u.minDistance.getValeur() + weight;
@@ -188,4 +435,61 @@ public class Dijkstra implements Concept {
 
 		return distances;
 	}
+
+    /**
+     * <p>
+     * Tâche calculant les lignes <code>[debut, fin[</code> du distancier,
+     * découpée récursivement tant qu'elle dépasse le seuil. Les lignes sont
+     * écrites soit dans une matrice de {@link Float}, soit dans un
+     * {@link Distancier}.
+     * 
+     * @since 2013
+     * @see Dijkstra#initialiserDistancierParallele(seisco.util.graphe.GrapheCompact, java.util.concurrent.ForkJoinPool)
+     */
+	private static class CalculLignes extends RecursiveAction {
+		private final GrapheCompact graphe;
+		private final float[][] matrice;
+		private final Distancier distancier;
+		private final MatricePredecesseurs predecesseurs;
+		private final int debut;
+		private final int fin;
+		private final int seuil;
+
+		CalculLignes(GrapheCompact graphe, float[][] matrice, Distancier distancier, MatricePredecesseurs predecesseurs, int debut, int fin, int seuil) {
+			this.graphe = graphe;
+			this.matrice = matrice;
+			this.distancier = distancier;
+			this.predecesseurs = predecesseurs;
+			this.debut = debut;
+			this.fin = fin;
+			this.seuil = seuil;
+		}
+
+		@Override
+		protected void compute() {
+			if (fin - debut <= seuil) {
+				int nbNoeuds = graphe.getNbNoeuds();
+				int[] precedents = new int[nbNoeuds];
+				FilePriorite tas = FilePriorite.creer(graphe);
+				float[] ligne = (matrice == null) ? new float[nbNoeuds] : null;
+
+				for (int source = debut; source < fin; source++) {
+					if (matrice != null) {
+						matrice[source] = new float[nbNoeuds];
+						computePaths(graphe, source, matrice[source], precedents, tas);
+					} else {
+						computePaths(graphe, source, ligne, precedents, tas);
+						distancier.setLigne(source, ligne);
+					}
+
+					if (predecesseurs != null)
+						predecesseurs.setLigne(source, precedents);
+				}
+			} else {
+				int milieu = (debut + fin) >>> 1;
+				invokeAll(new CalculLignes(graphe, matrice, distancier, predecesseurs, debut, milieu, seuil),
+						new CalculLignes(graphe, matrice, distancier, predecesseurs, milieu, fin, seuil));
+			}
+		}
+	}
 }
@@ -0,0 +1,158 @@
+package seisco.util.graphe;
+
+/**
+ * <p>
+ * Représente une matrice des distances minimum entre les nœuds d'un graphe,
+ * lue par {@link #get(int, int)} quel que soit son stockage.
+ *
+ * <p>
+ * Les implémentations stockent les valeurs dans un unique tableau contigu
+ * ({@link DistancierPlein}, {@link DistancierTriangulaire}) ou hors du tas
+ * Java ({@link DistancierMappe}), plutôt que dans une matrice de
+ * <code>float[][]</code> faite de n tableaux séparés.
+ *
+ * @version 2013
+ * @see Dijkstra#calculerDistancier(seisco.util.graphe.GrapheCompact)
+ */
+public abstract class Distancier {
+
+    /**
+     * <p>
+     * Crée un distancier vide adapté au graphe : triangulaire si
+     * ses coûts de parcours sont symétriques, plein sinon.
+     *
+     * @param graphe le graphe dont on va calculer le distancier
+     * @return un distancier vide de la taille du graphe
+     * @since 2013
+     * @see GrapheCompact#estSymetrique()
+     */
+    public static Distancier creer(GrapheCompact graphe) {
+        if (graphe.estSymetrique())
+            return new DistancierTriangulaire(graphe.getNbNoeuds());
+
+        return new DistancierPlein(graphe.getNbNoeuds());
+    }
+
+    /**
+     * <p>Vérifie que les valeurs d'une matrice de nœuds tiennent dans un tableau Java
+     *
+     * @param nbNoeuds le nombre de nœuds
+     * @param taille le nombre de valeurs à stocker
+     * @return la taille du tableau
+     * @throws IllegalArgumentException si la taille dépasse celle d'un tableau Java
+     * @since 2013
+     * @see DistancierFichier
+     * @see DistancierParesseux
+     */
+    static int verifierTaille(int nbNoeuds, long taille) {
+        if (nbNoeuds < 0)
+            throw new IllegalArgumentException("Nombre de nœuds négatif : " + nbNoeuds);
+        if (taille > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Matrice de " + nbNoeuds + " nœuds trop grande pour un tableau Java ("
+                    + taille + " valeurs) : utiliser un DistancierMappe (DistancierFichier) ou un DistancierParesseux");
+
+        return (int) taille;
+    }
+
+    /**
+     * <p>Retourne le nombre de nœuds du distancier
+     *
+     * @return le nombre de lignes (et de colonnes) de la matrice
+     * @since 2013
+     */
+    public abstract int getNbNoeuds();
+
+    /**
+     * <p>Retourne la distance minimum entre deux nœuds
+     *
+     * @param i l'indice du nœud de départ
+     * @param j l'indice du nœud d'arrivée
+     * @return la distance de <code>i</code> à <code>j</code>
+     * @since 2013
+     */
+    public abstract float get(int i, int j);
+
+    /**
+     * <p>
+     * Remplace la distance entre deux nœuds.
+     * Pour un distancier symétrique, la distance de
+     * <code>j</code> à <code>i</code> est remplacée aussi.
+     *
+     * @param i l'indice du nœud de départ
+     * @param j l'indice du nœud d'arrivée
+     * @param distance la nouvelle distance
+     * @throws UnsupportedOperationException si le distancier est en lecture seule
+     * @since 2013
+     */
+    public void set(int i, int j, float distance) {
+        throw new UnsupportedOperationException("Distancier en lecture seule");
+    }
+
+    /**
+     * <p>Indique si le distancier ne stocke qu'une distance par paire de nœuds
+     *
+     * @return
+     *  <p> <b>true</b> si <code>get(i, j) == get(j, i)</code> par construction
+     *  <p> <b>false</b> sinon
+     * @since 2013
+     */
+    public boolean estSymetrique() {
+        return false;
+    }
+
+    /**
+     * <p>Copie une ligne du distancier dans un tableau fourni par l'appelant
+     *
+     * @param i l'indice du nœud de départ
+     * @param ligne le tableau recevant les distances, de taille au moins égale au nombre de nœuds
+     * @since 2013
+     */
+    public void getLigne(int i, float[] ligne) {
+        int n = getNbNoeuds();
+        for (int j = 0; j < n; j++)
+            ligne[j] = get(i, j);
+    }
+
+    /**
+     * <p>
+     * Remplace une ligne complète du distancier.
+     * Un distancier symétrique n'en conserve que la partie
+     * <code>j &gt;= i</code>, ce qui permet à plusieurs tâches
+     * de remplir des lignes différentes en même temps.
+     *
+     * @param i l'indice du nœud de départ
+     * @param ligne les distances de <code>i</code> à chaque nœud
+     * @since 2013
+     */
+    void setLigne(int i, float[] ligne) {
+        int n = getNbNoeuds();
+        for (int j = estSymetrique() ? i : 0; j < n; j++)
+            set(i, j, ligne[j]);
+    }
+
+    /**
+     * <p>Copie le distancier sous forme de matrice de {@link Float}
+     *
+     * @return une copie du distancier
+     * @since 2013
+     */
+    public float[][] toMatrice() {
+        int n = getNbNoeuds();
+        float[][] matrice = new float[n][n];
+        for (int i = 0; i < n; i++)
+            getLigne(i, matrice[i]);
+
+        return matrice;
+    }
+
+    /**
+     * <p>Retourne une représentation du distancier sous forme de {@link String}
+     *
+     * @return le type et la taille du distancier
+     * @since 2013
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + getNbNoeuds() + " nœuds]";
+    }
+}
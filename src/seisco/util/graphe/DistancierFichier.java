@@ -0,0 +1,242 @@
+package seisco.util.graphe;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * <p>
+ * Stockage persistant d'un distancier dans un fichier plat, identifié
+ * par l'empreinte du {@link GrapheCompact} dont il est issu.
+ *
+ * <p>
+ * Le premier agent qui a besoin du distancier d'un graphe le calcule et
+ * l'écrit une seule fois ; les agents suivants de la même machine
+ * (y compris après une migration) le projettent directement en mémoire
+ * par un {@link java.nio.MappedByteBuffer} au lieu de le recalculer.
+ *
+ * <p>Format du fichier (little-endian) :
+ * <ul>
+ *  <li>en-tête de {@value #TAILLE_ENTETE} octets : {@link #MAGIQUE} (int),
+ *      {@link #VERSION} (int), nombre de nœuds n (int), réservé (int),
+ *      empreinte du graphe (long)</li>
+ *  <li>n × n <code>float</code>, ligne par ligne</li>
+ * </ul>
+ *
+ * @version 2013
+ * @see DistancierMappe
+ * @see GrapheCompact#getEmpreinte()
+ */
+public class DistancierFichier {
+
+    /**
+     * <p>Identifiant des fichiers de distancier (« SDIS »)
+     */
+    public static final int MAGIQUE = 0x53444953;
+
+    /**
+     * <p>Version du format de fichier
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * <p>Taille de l'en-tête en octets
+     */
+    public static final int TAILLE_ENTETE = 24;
+
+    /* Taille maximum d'une projection, en octets */
+    private static final long TAILLE_MAX_BLOC = 1L << 30;
+
+    private DistancierFichier() {
+    }
+
+    /**
+     * <p>Retourne le fichier associé à un graphe dans un dossier de stockage
+     *
+     * @param dossier le dossier contenant les distanciers
+     * @param graphe le graphe dont on veut le distancier
+     * @return le fichier, nommé d'après l'empreinte du graphe
+     * @since 2013
+     */
+    public static File getFichier(File dossier, GrapheCompact graphe) {
+        return new File(dossier, "distancier-" + Long.toHexString(graphe.getEmpreinte()) + ".bin");
+    }
+
+    /**
+     * <p>
+     * Retourne le distancier d'un graphe à partir du dossier de stockage.
+     * S'il n'y est pas encore, il est calculé par
+     * {@link Dijkstra#calculerDistancier(seisco.util.graphe.GrapheCompact)},
+     * écrit puis projeté en mémoire.
+     *
+     * @param dossier le dossier contenant les distanciers
+     * @param graphe le graphe dont on veut le distancier
+     * @return le distancier projeté en mémoire
+     * @throws IOException si le dossier ou le fichier ne peut être lu ou écrit
+     * @since 2013
+     */
+    public static DistancierMappe charger(File dossier, GrapheCompact graphe) throws IOException {
+        File fichier = getFichier(dossier, graphe);
+
+        DistancierMappe distancier = ouvrir(fichier, graphe);
+        if (distancier == null) {
+            if (!dossier.isDirectory() && !dossier.mkdirs() && !dossier.isDirectory())
+                throw new IOException("Impossible de créer le dossier " + dossier);
+
+            ecrire(fichier, graphe.getEmpreinte(), Dijkstra.calculerDistancier(graphe));
+            distancier = ouvrir(fichier, graphe);
+            if (distancier == null)
+                throw new IOException("Le distancier écrit dans " + fichier + " est illisible");
+        }
+
+        return distancier;
+    }
+
+    /**
+     * <p>
+     * Écrit un distancier dans un fichier. L'écriture se fait dans un fichier
+     * temporaire du même dossier, renommé atomiquement une fois complet :
+     * un agent concurrent ne peut jamais projeter un fichier partiel.
+     *
+     * @param fichier le fichier de destination
+     * @param empreinte l'empreinte du graphe d'origine
+     * @param distancier le distancier à écrire
+     * @throws IOException si le fichier ne peut être écrit
+     * @since 2013
+     */
+    public static void ecrire(File fichier, long empreinte, Distancier distancier) throws IOException {
+        int n = distancier.getNbNoeuds();
+        File temporaire = File.createTempFile(fichier.getName(), ".tmp", fichier.getAbsoluteFile().getParentFile());
+
+        try {
+            RandomAccessFile acces = new RandomAccessFile(temporaire, "rw");
+            try {
+                FileChannel canal = acces.getChannel();
+
+                ByteBuffer entete = ByteBuffer.allocate(TAILLE_ENTETE).order(ByteOrder.LITTLE_ENDIAN);
+                entete.putInt(MAGIQUE).putInt(VERSION).putInt(n).putInt(0).putLong(empreinte);
+                entete.flip();
+                ecrireTout(canal, entete);
+
+                ByteBuffer tampon = ByteBuffer.allocateDirect(Math.max(4, n * 4)).order(ByteOrder.LITTLE_ENDIAN);
+                FloatBuffer ligne = tampon.asFloatBuffer();
+                float[] distances = new float[n];
+                for (int i = 0; i < n; i++) {
+                    distancier.getLigne(i, distances);
+                    ligne.clear();
+                    ligne.put(distances, 0, n);
+                    tampon.clear().limit(n * 4);
+                    ecrireTout(canal, tampon);
+                }
+
+                canal.force(false);
+            } finally {
+                acces.close();
+            }
+
+            try {
+                Files.move(temporaire.toPath(), fichier.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException ex) {
+                Files.move(temporaire.toPath(), fichier.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            if (temporaire.exists())
+                temporaire.delete();
+        }
+    }
+
+    /**
+     * <p>Écrit un distancier donné sous forme de matrice de {@link Float}.
+     *
+     * @param fichier le fichier de destination
+     * @param empreinte l'empreinte du graphe d'origine
+     * @param distancier la matrice des distances, carrée
+     * @throws IOException si le fichier ne peut être écrit
+     * @since 2013
+     * @see #ecrire(java.io.File, long, seisco.util.graphe.Distancier)
+     */
+    public static void ecrire(File fichier, long empreinte, final float[][] distancier) throws IOException {
+        ecrire(fichier, empreinte, new Distancier() {
+            @Override
+            public int getNbNoeuds() {
+                return distancier.length;
+            }
+
+            @Override
+            public float get(int i, int j) {
+                return distancier[i][j];
+            }
+
+            @Override
+            public void getLigne(int i, float[] ligne) {
+                System.arraycopy(distancier[i], 0, ligne, 0, distancier.length);
+            }
+        });
+    }
+
+    /**
+     * <p>Projette en mémoire le distancier d'un graphe s'il existe et est valide.
+     *
+     * @param fichier le fichier du distancier
+     * @param graphe le graphe attendu
+     * @return
+     *  <p> le distancier projeté en mémoire
+     *  <p> <b>null</b> si le fichier n'existe pas, ou si son en-tête ne
+     *      correspond pas au graphe (nombre de nœuds, empreinte, taille)
+     * @throws IOException si le fichier existe mais ne peut être lu
+     * @since 2013
+     */
+    public static DistancierMappe ouvrir(File fichier, GrapheCompact graphe) throws IOException {
+        if (!fichier.isFile())
+            return null;
+
+        RandomAccessFile acces = new RandomAccessFile(fichier, "r");
+        try {
+            FileChannel canal = acces.getChannel();
+            long n = graphe.getNbNoeuds();
+
+            if (canal.size() != TAILLE_ENTETE + n * n * 4)
+                return null;
+
+            ByteBuffer entete = ByteBuffer.allocate(TAILLE_ENTETE).order(ByteOrder.LITTLE_ENDIAN);
+            while (entete.hasRemaining())
+                if (canal.read(entete, entete.position()) < 0)
+                    return null;
+            entete.flip();
+
+            if (entete.getInt() != MAGIQUE || entete.getInt() != VERSION || entete.getInt() != n)
+                return null;
+            entete.getInt();
+            if (entete.getLong() != graphe.getEmpreinte())
+                return null;
+
+            int lignesParBloc = (int) Math.max(1, Math.min(n, TAILLE_MAX_BLOC / Math.max(1, n * 4)));
+            int nbBlocs = (int) ((n + lignesParBloc - 1) / lignesParBloc);
+            FloatBuffer[] blocs = new FloatBuffer[nbBlocs];
+
+            for (int b = 0; b < nbBlocs; b++) {
+                long premiereLigne = (long) b * lignesParBloc;
+                long nbLignes = Math.min(lignesParBloc, n - premiereLigne);
+                blocs[b] = canal.map(FileChannel.MapMode.READ_ONLY,
+                        TAILLE_ENTETE + premiereLigne * n * 4, nbLignes * n * 4)
+                        .order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+            }
+
+            return new DistancierMappe((int) n, graphe.getEmpreinte(), lignesParBloc, blocs);
+        } finally {
+            // La projection reste valide après la fermeture du canal
+            acces.close();
+        }
+    }
+
+    private static void ecrireTout(FileChannel canal, ByteBuffer tampon) throws IOException {
+        while (tampon.hasRemaining())
+            canal.write(tampon);
+    }
+}
@@ -0,0 +1,201 @@
+package seisco.util.graphe;
+
+import java.util.Collection;
+
+/**
+ * <p>
+ * Maintient un {@link Distancier} à jour lorsque le coût de parcours
+ * de quelques {@link Arc} change en cours d'exécution (fermeture d'une
+ * rue, congestion...), sans recalculer toute la matrice.
+ *
+ * <p>Pour chaque arc <code>(u, v)</code> modifié :
+ * <ul>
+ *  <li>si son coût augmente, seules les sources <code>i</code> dont un plus
+ *      court chemin l'empruntait (<code>d(i,u) + ancien = d(i,v)</code>) sont
+ *      recalculées par {@link Dijkstra} ;</li>
+ *  <li>si son coût diminue, chaque distance <code>d(i,j)</code> est relaxée
+ *      par <code>d(i,u) + nouveau + d(v,j)</code>, en ne parcourant que les
+ *      sources pour lesquelles l'arc raccourcit au moins <code>d(i,v)</code>.</li>
+ * </ul>
+ *
+ * <p>La matrice des prédécesseurs, si elle est fournie, est tenue à jour de la même façon.
+ * Une instance n'est pas thread-safe.
+ *
+ * <p>
+ * Un distancier symétrique ({@link DistancierTriangulaire}) ne stocke
+ * qu'un sens de chaque paire : les modifications doivent alors garder le
+ * graphe symétrique, en changeant les deux sens de chaque arête. Pour
+ * modifier un seul sens (sens interdit, congestion d'une voie), le
+ * distancier doit être un {@link DistancierPlein}. Si la matrice des
+ * prédécesseurs est maintenue sur un distancier symétrique, les sources
+ * dont une distance diminue sont elles aussi recalculées par
+ * {@link Dijkstra}, la relaxation ne pouvant corriger les deux sens.
+ *
+ * @version 2013
+ * @see GrapheCompact#avecCouts(java.util.Collection)
+ */
+public class DistancierIncremental {
+
+    /* Tolérance relative sur les sommes de float, les distances pouvant venir de FloydWarshall */
+    private static final float TOLERANCE = 1e-5f;
+
+    private GrapheCompact graphe;
+    private final Distancier distancier;
+    private final MatricePredecesseurs predecesseurs;
+
+    /**
+     * <p>Instancie la mise à jour incrémentale d'un distancier déjà calculé
+     *
+     * @param graphe la vue compacte à partir de laquelle le distancier a été calculé
+     * @param distancier le distancier du graphe, modifiable
+     * @param predecesseurs la matrice des prédécesseurs du graphe, ou <b>null</b>
+     * @since 2013
+     */
+    public DistancierIncremental(GrapheCompact graphe, Distancier distancier, MatricePredecesseurs predecesseurs) {
+        this.graphe = graphe;
+        this.distancier = distancier;
+        this.predecesseurs = predecesseurs;
+    }
+
+    /**
+     * <p>Retourne la vue compacte correspondant à l'état actuel du distancier
+     *
+     * @return la vue compacte à jour
+     * @since 2013
+     */
+    public GrapheCompact getGraphe() {
+        return graphe;
+    }
+
+    /**
+     * <p>Retourne le distancier maintenu à jour
+     *
+     * @return le distancier
+     * @since 2013
+     */
+    public Distancier getDistancier() {
+        return distancier;
+    }
+
+    /**
+     * <p>Retourne la matrice des prédécesseurs maintenue à jour
+     *
+     * @return la matrice des prédécesseurs, ou <b>null</b> si elle n'est pas maintenue
+     * @since 2013
+     */
+    public MatricePredecesseurs getPredecesseurs() {
+        return predecesseurs;
+    }
+
+    /**
+     * <p>
+     * Répercute sur le distancier les nouveaux coûts de parcours
+     * des {@link Arc} donnés, lus sur les objets.
+     *
+     * @param arcsModifies les arcs dont le coût a changé
+     * @return le nombre de lignes du distancier entièrement recalculées
+     * @throws UnsupportedOperationException si le distancier est en lecture seule
+     * @throws IllegalStateException si le distancier est symétrique et que les nouveaux coûts ne le sont plus
+     * @since 2013
+     */
+    public int mettreAJour(Collection<Arc> arcsModifies) {
+        int[] positions = graphe.positions(arcsModifies);
+        GrapheCompact nouveau = graphe.avecCouts(arcsModifies);
+        if (distancier.estSymetrique() && !nouveau.estSymetrique())
+            throw new IllegalStateException("Les nouveaux coûts rendent le graphe asymétrique :"
+                    + " un distancier symétrique ne peut pas les représenter, utiliser un DistancierPlein");
+        float[] anciensPoids = graphe.getCoutsParcours();
+        float[] nouveauxPoids = nouveau.getCoutsParcours();
+        int[] cibles = graphe.getCibles();
+        int n = graphe.getNbNoeuds();
+
+        // Augmentations : sources dont un plus court chemin empruntait l'arc
+        boolean[] aRecalculer = new boolean[n];
+        int nbRecalculees = 0;
+        for (int k : positions) {
+            if (nouveauxPoids[k] <= anciensPoids[k])
+                continue;
+
+            int u = graphe.origine(k), v = cibles[k];
+            for (int i = 0; i < n; i++) {
+                float diu = distancier.get(i, u);
+                if (aRecalculer[i] || diu == Float.POSITIVE_INFINITY)
+                    continue;
+
+                float div = distancier.get(i, v);
+                if (diu + anciensPoids[k] - div <= TOLERANCE * Math.max(1, Math.abs(div))) {
+                    aRecalculer[i] = true;
+                    nbRecalculees++;
+                }
+            }
+        }
+
+        /*
+         * Stockage symétrique avec prédécesseurs : relaxer (i, j) abaisse aussi (j, i) sans
+         * corriger pred(j, i). Les sources dont une distance diminue sont donc recalculées,
+         * repérées avant toute écriture : l'arc améliore d(i, v) pour toute source concernée.
+         */
+        boolean parDijkstra = distancier.estSymetrique() && predecesseurs != null;
+        if (parDijkstra) {
+            for (int k : positions) {
+                float poids = nouveauxPoids[k];
+                if (poids >= anciensPoids[k])
+                    continue;
+
+                int u = graphe.origine(k), v = cibles[k];
+                for (int i = 0; i < n; i++) {
+                    if (!aRecalculer[i] && distancier.get(i, u) + poids < distancier.get(i, v)) {
+                        aRecalculer[i] = true;
+                        nbRecalculees++;
+                    }
+                }
+            }
+        }
+
+        if (nbRecalculees > 0) {
+            float[] distances = new float[n];
+            int[] precedents = new int[n];
+            FilePriorite tas = FilePriorite.creer(nouveau);
+
+            for (int i = 0; i < n; i++) {
+                if (!aRecalculer[i])
+                    continue;
+
+                Dijkstra.computePaths(nouveau, i, distances, precedents, tas);
+                for (int j = 0; j < n; j++)
+                    distancier.set(i, j, distances[j]);
+                if (predecesseurs != null)
+                    predecesseurs.setLigne(i, precedents);
+            }
+        }
+
+        // Diminutions : relaxation par le nouvel arc
+        for (int k : positions) {
+            float poids = nouveauxPoids[k];
+            if (parDijkstra || poids >= anciensPoids[k])
+                continue;
+
+            int u = graphe.origine(k), v = cibles[k];
+            for (int i = 0; i < n; i++) {
+                if (aRecalculer[i])
+                    continue;
+
+                float diu = distancier.get(i, u);
+                if (diu + poids >= distancier.get(i, v))
+                    continue;
+
+                for (int j = 0; j < n; j++) {
+                    float candidat = diu + poids + distancier.get(v, j);
+                    if (candidat < distancier.get(i, j)) {
+                        distancier.set(i, j, candidat);
+                        if (predecesseurs != null)
+                            predecesseurs.set(i, j, (j == v) ? u : predecesseurs.get(v, j));
+                    }
+                }
+            }
+        }
+
+        this.graphe = nouveau;
+        return nbRecalculees;
+    }
+}
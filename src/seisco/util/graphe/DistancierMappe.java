@@ -0,0 +1,69 @@
+package seisco.util.graphe;
+
+import java.nio.FloatBuffer;
+
+/**
+ * <p>
+ * Distancier en lecture seule, projeté en mémoire à partir d'un fichier
+ * écrit par {@link DistancierFichier}.
+ *
+ * <p>
+ * Les valeurs ne sont pas copiées dans le tas Java : tous les agents d'une
+ * même machine qui ouvrent le même fichier partagent les mêmes pages du
+ * cache système. La matrice est découpée en blocs de lignes pour dépasser
+ * la limite de 2 Go d'une projection unique.
+ *
+ * @version 2013
+ * @see DistancierFichier#ouvrir(java.io.File, seisco.util.graphe.GrapheCompact)
+ */
+public class DistancierMappe extends Distancier {
+
+    private final int nbNoeuds;
+    private final long empreinte;
+    private final int lignesParBloc;
+    private final FloatBuffer[] blocs;
+
+    /**
+     * <p>Instancie un distancier à partir des blocs projetés
+     *
+     * @param nbNoeuds le nombre de nœuds
+     * @param empreinte l'empreinte du graphe d'origine
+     * @param lignesParBloc le nombre de lignes contenues dans chaque bloc
+     * @param blocs les blocs de lignes, en little-endian
+     * @since 2013
+     */
+    DistancierMappe(int nbNoeuds, long empreinte, int lignesParBloc, FloatBuffer[] blocs) {
+        this.nbNoeuds = nbNoeuds;
+        this.empreinte = empreinte;
+        this.lignesParBloc = lignesParBloc;
+        this.blocs = blocs;
+    }
+
+    @Override
+    public int getNbNoeuds() {
+        return nbNoeuds;
+    }
+
+    /**
+     * <p>Retourne l'empreinte du graphe à partir duquel le distancier a été calculé
+     *
+     * @return l'empreinte du graphe
+     * @since 2013
+     * @see GrapheCompact#getEmpreinte()
+     */
+    public long getEmpreinte() {
+        return empreinte;
+    }
+
+    @Override
+    public float get(int i, int j) {
+        return blocs[i / lignesParBloc].get((i % lignesParBloc) * nbNoeuds + j);
+    }
+
+    @Override
+    public void getLigne(int i, float[] ligne) {
+        FloatBuffer bloc = blocs[i / lignesParBloc].duplicate();
+        bloc.position((i % lignesParBloc) * nbNoeuds);
+        bloc.get(ligne, 0, nbNoeuds);
+    }
+}
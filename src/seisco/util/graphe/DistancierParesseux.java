@@ -0,0 +1,183 @@
+package seisco.util.graphe;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * Distancier en lecture seule dont les lignes sont calculées par
+ * {@link Dijkstra} lors de leur premier accès, puis conservées dans un
+ * cache borné : au-delà de <code>capacite</code> lignes, la moins
+ * récemment utilisée est abandonnée (LRU).
+ *
+ * <p>
+ * La mémoire occupée est d'au plus <code>capacite × n</code>
+ * <code>float</code>, au lieu des n² d'un distancier complet : sur les
+ * grandes instances, les opérateurs qui ne visitent que les nœuds proches
+ * des arcs à traiter ne paient que les lignes qu'ils utilisent. Sur un
+ * graphe symétrique, la ligne de <code>j</code> sert aussi à répondre à
+ * <code>get(i, j)</code>.
+ *
+ * <p>Les accès sont synchronisés : une instance peut être partagée entre plusieurs tâches.
+ *
+ * @version 2013
+ * @see RequetePointAPoint
+ */
+public class DistancierParesseux extends Distancier {
+
+    private final GrapheCompact graphe;
+    private final boolean symetrique;
+    private final int capacite;
+    private final LinkedHashMap<Integer, float[]> lignes;
+
+    private final int[] precedents;
+    private final FilePriorite tas;
+
+    private long nbSucces;
+    private long nbEchecs;
+
+    /**
+     * <p>Instancie un distancier paresseux
+     *
+     * @param graphe la vue compacte du graphe
+     * @param capacite le nombre maximum de lignes conservées en cache
+     * @throws IllegalArgumentException si la capacité n'est pas strictement positive
+     * @since 2013
+     */
+    public DistancierParesseux(GrapheCompact graphe, int capacite) {
+        if (capacite <= 0)
+            throw new IllegalArgumentException("La capacité doit être strictement positive : " + capacite);
+
+        int n = graphe.getNbNoeuds();
+        this.graphe = graphe;
+        this.symetrique = graphe.estSymetrique();
+        this.capacite = capacite;
+        this.lignes = new LinkedHashMap<Integer, float[]>(Math.min(capacite, n) * 4 / 3 + 1, 0.75f, true);
+        this.precedents = new int[n];
+        this.tas = FilePriorite.creer(graphe);
+        this.nbSucces = 0;
+        this.nbEchecs = 0;
+    }
+
+    @Override
+    public int getNbNoeuds() {
+        return graphe.getNbNoeuds();
+    }
+
+    /**
+     * <p>Retourne le nombre maximum de lignes conservées en cache
+     *
+     * @return la capacité du cache
+     * @since 2013
+     */
+    public int getCapacite() {
+        return capacite;
+    }
+
+    @Override
+    public boolean estSymetrique() {
+        return symetrique;
+    }
+
+    @Override
+    public synchronized float get(int i, int j) {
+        float[] ligne = lignes.get(i);
+        if (ligne != null) {
+            nbSucces++;
+            return ligne[j];
+        }
+
+        if (symetrique) {
+            ligne = lignes.get(j);
+            if (ligne != null) {
+                nbSucces++;
+                return ligne[i];
+            }
+        }
+
+        nbEchecs++;
+        return calculer(i)[j];
+    }
+
+    @Override
+    public synchronized void getLigne(int i, float[] ligne) {
+        float[] enCache = lignes.get(i);
+        if (enCache != null) {
+            nbSucces++;
+        } else {
+            nbEchecs++;
+            enCache = calculer(i);
+        }
+
+        System.arraycopy(enCache, 0, ligne, 0, enCache.length);
+    }
+
+    /**
+     * <p>Retourne le nombre d'accès servis par une ligne déjà en cache
+     *
+     * @return le nombre de succès
+     * @since 2013
+     */
+    public synchronized long getNbSucces() {
+        return nbSucces;
+    }
+
+    /**
+     * <p>Retourne le nombre d'accès ayant nécessité le calcul d'une ligne
+     *
+     * @return le nombre d'échecs
+     * @since 2013
+     */
+    public synchronized long getNbEchecs() {
+        return nbEchecs;
+    }
+
+    /**
+     * <p>Retourne le nombre de lignes actuellement en cache
+     *
+     * @return le nombre de lignes calculées et conservées
+     * @since 2013
+     */
+    public synchronized int getNbLignesEnCache() {
+        return lignes.size();
+    }
+
+    /**
+     * <p>Abandonne toutes les lignes en cache et remet les compteurs à zéro
+     *
+     * @since 2013
+     */
+    public synchronized void vider() {
+        lignes.clear();
+        nbSucces = 0;
+        nbEchecs = 0;
+    }
+
+    /**
+     * <p>
+     * Calcule la ligne <code>i</code> et la range en cache, en réutilisant
+     * le tableau de la ligne la moins récemment utilisée si le cache est plein.
+     */
+    private float[] calculer(int i) {
+        float[] ligne;
+        if (lignes.size() >= capacite) {
+            Iterator<Map.Entry<Integer, float[]>> plusAncienne = lignes.entrySet().iterator();
+            ligne = plusAncienne.next().getValue();
+            plusAncienne.remove();
+        } else {
+            ligne = new float[graphe.getNbNoeuds()];
+        }
+
+        Dijkstra.computePaths(graphe, i, ligne, precedents, tas);
+        lignes.put(i, ligne);
+
+        return ligne;
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + "[" + getNbLignesEnCache() + "/" + capacite + " lignes, "
+                + getNbSucces() + " succès, " + getNbEchecs() + " échecs]";
+    }
+}
@@ -0,0 +1,93 @@
+package seisco.util.graphe;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Distancier stockant les n × n distances ligne par ligne
+ * dans un unique tableau de <code>float</code>.
+ * Utilisé pour les graphes orientés.
+ *
+ * @version 2013
+ * @see DistancierTriangulaire
+ */
+public class DistancierPlein extends Distancier {
+
+    private final int nbNoeuds;
+    private final float[] valeurs;
+
+    /**
+     * <p>Instancie un distancier dont toutes les distances sont infinies
+     *
+     * @param nbNoeuds le nombre de nœuds
+     * @throws IllegalArgumentException si les n × n distances ne tiennent pas dans un tableau Java
+     * @since 2013
+     */
+    public DistancierPlein(int nbNoeuds) {
+        this.nbNoeuds = nbNoeuds;
+        this.valeurs = new float[taille(nbNoeuds)];
+        Arrays.fill(this.valeurs, Float.POSITIVE_INFINITY);
+    }
+
+    /**
+     * <p>Retourne le nombre de valeurs stockées pour une matrice de n nœuds
+     *
+     * @param nbNoeuds le nombre de nœuds
+     * @return n²
+     * @throws IllegalArgumentException si n² dépasse la taille d'un tableau Java (n &gt; 46340)
+     * @since 2013
+     */
+    static int taille(int nbNoeuds) {
+        return verifierTaille(nbNoeuds, (long) nbNoeuds * nbNoeuds);
+    }
+
+    /**
+     * <p>Retourne la position de la paire (i, j) dans une matrice de n nœuds rangée ligne par ligne
+     *
+     * @param nbNoeuds le nombre de nœuds
+     * @param i l'indice du nœud de départ
+     * @param j l'indice du nœud d'arrivée
+     * @return la position de la paire
+     * @since 2013
+     */
+    static int indice(int nbNoeuds, int i, int j) {
+        return (int) ((long) i * nbNoeuds + j);
+    }
+
+    @Override
+    public int getNbNoeuds() {
+        return nbNoeuds;
+    }
+
+    @Override
+    public float get(int i, int j) {
+        return valeurs[indice(nbNoeuds, i, j)];
+    }
+
+    @Override
+    public void set(int i, int j, float distance) {
+        valeurs[indice(nbNoeuds, i, j)] = distance;
+    }
+
+    @Override
+    public void getLigne(int i, float[] ligne) {
+        System.arraycopy(valeurs, indice(nbNoeuds, i, 0), ligne, 0, nbNoeuds);
+    }
+
+    @Override
+    void setLigne(int i, float[] ligne) {
+        System.arraycopy(ligne, 0, valeurs, indice(nbNoeuds, i, 0), nbNoeuds);
+    }
+
+    /**
+     * <p>
+     * Retourne le tableau des distances, ligne par ligne.
+     * Le tableau est partagé avec le distancier.
+     *
+     * @return les n × n distances
+     * @since 2013
+     */
+    public float[] getValeurs() {
+        return valeurs;
+    }
+}
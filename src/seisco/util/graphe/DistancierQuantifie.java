@@ -0,0 +1,243 @@
+package seisco.util.graphe;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Distancier approché stockant chaque distance sur 16 bits non signés
+ * (<code>char</code>) : <code>round(distance × echelle)</code>.
+ *
+ * <p>
+ * Il occupe deux fois moins de mémoire qu'un distancier de <code>float</code>
+ * et en fait tenir deux fois plus dans le cache ; il est destiné aux
+ * heuristiques d'évaluation des mouvements, qui comparent des distances sans
+ * avoir besoin de leur valeur exacte. L'erreur est d'au plus
+ * <code>0,5 / echelle</code> par distance, aux arrondis du <code>float</code> près.
+ *
+ * <p>
+ * Une distance trop grande pour être représentée, ou infinie, est marquée
+ * par {@link #SENTINELLE}. Elle est alors lue sur le distancier exact fourni
+ * (par exemple un {@link DistancierMappe} ou un {@link DistancierParesseux}),
+ * qui sert aussi au calcul final du coût d'une solution par
+ * {@link #getExacte(int, int)}.
+ *
+ * @version 2013
+ * @see #quantifier(seisco.util.graphe.Distancier, seisco.util.graphe.Distancier)
+ */
+public class DistancierQuantifie extends Distancier {
+
+    /**
+     * <p>Valeur stockée pour une distance non représentable
+     */
+    public static final int SENTINELLE = 0xFFFF;
+
+    /**
+     * <p>Plus grande valeur quantifiée représentable
+     */
+    public static final int VALEUR_MAX = SENTINELLE - 1;
+
+    private final int nbNoeuds;
+    private final boolean symetrique;
+    private final float echelle;
+    private final char[] valeurs;
+    private final Distancier exact;
+
+    /**
+     * <p>Instancie un distancier quantifié dont toutes les distances valent la sentinelle
+     *
+     * @param nbNoeuds le nombre de nœuds
+     * @param symetrique <b>true</b> pour ne stocker que le triangle supérieur
+     * @param echelle le nombre d'unités quantifiées par unité de distance
+     * @param exact le distancier exact de repli, ou <b>null</b>
+     * @throws IllegalArgumentException si l'échelle n'est pas strictement positive
+     *  ou si les distances ne tiennent pas dans un tableau Java
+     * @since 2013
+     */
+    public DistancierQuantifie(int nbNoeuds, boolean symetrique, float echelle, Distancier exact) {
+        if (!(echelle > 0))
+            throw new IllegalArgumentException("L'échelle doit être strictement positive : " + echelle);
+
+        this.nbNoeuds = nbNoeuds;
+        this.symetrique = symetrique;
+        this.echelle = echelle;
+        this.valeurs = new char[symetrique ? DistancierTriangulaire.taille(nbNoeuds) : DistancierPlein.taille(nbNoeuds)];
+        this.exact = exact;
+
+        Arrays.fill(this.valeurs, (char) SENTINELLE);
+    }
+
+    /**
+     * <p>
+     * Quantifie un distancier avec la plus fine échelle permettant de
+     * représenter toutes ses distances finies.
+     *
+     * @param source le distancier à quantifier, qui sert aussi de repli exact
+     * @return le distancier quantifié
+     * @since 2013
+     * @see #echelleAdaptee(seisco.util.graphe.Distancier)
+     */
+    public static DistancierQuantifie quantifier(Distancier source) {
+        return quantifier(source, echelleAdaptee(source), source);
+    }
+
+    /**
+     * <p>
+     * Quantifie un distancier avec la plus fine échelle permettant de
+     * représenter toutes ses distances finies.
+     *
+     * @param source le distancier à quantifier
+     * @param exact le distancier exact de repli, ou <b>null</b>
+     * @return le distancier quantifié
+     * @since 2013
+     */
+    public static DistancierQuantifie quantifier(Distancier source, Distancier exact) {
+        return quantifier(source, echelleAdaptee(source), exact);
+    }
+
+    /**
+     * <p>Quantifie un distancier à une échelle donnée
+     *
+     * @param source le distancier à quantifier
+     * @param echelle le nombre d'unités quantifiées par unité de distance
+     * @param exact le distancier exact de repli, ou <b>null</b>
+     * @return le distancier quantifié
+     * @since 2013
+     */
+    public static DistancierQuantifie quantifier(Distancier source, float echelle, Distancier exact) {
+        int n = source.getNbNoeuds();
+        DistancierQuantifie quantifie = new DistancierQuantifie(n, source.estSymetrique(), echelle, exact);
+
+        float[] ligne = new float[n];
+        for (int i = 0; i < n; i++) {
+            source.getLigne(i, ligne);
+            quantifie.setLigne(i, ligne);
+        }
+
+        return quantifie;
+    }
+
+    /**
+     * <p>
+     * Retourne la plus grande échelle pour laquelle toutes les distances
+     * finies du distancier sont représentables
+     *
+     * @param source le distancier
+     * @return <code>VALEUR_MAX / (plus grande distance finie)</code>, ou <b>1</b> si elles sont toutes nulles
+     * @since 2013
+     */
+    public static float echelleAdaptee(Distancier source) {
+        int n = source.getNbNoeuds();
+        float[] ligne = new float[n];
+        float max = 0;
+        for (int i = 0; i < n; i++) {
+            source.getLigne(i, ligne);
+            for (int j = 0; j < n; j++)
+                if (ligne[j] != Float.POSITIVE_INFINITY && ligne[j] > max)
+                    max = ligne[j];
+        }
+
+        // Marge pour que l'arrondi de la plus grande distance reste sous VALEUR_MAX
+        return (max > 0) ? (VALEUR_MAX - 1) / max : 1;
+    }
+
+    @Override
+    public int getNbNoeuds() {
+        return nbNoeuds;
+    }
+
+    @Override
+    public boolean estSymetrique() {
+        return symetrique;
+    }
+
+    /**
+     * <p>Retourne le nombre d'unités quantifiées par unité de distance
+     *
+     * @return l'échelle
+     * @since 2013
+     */
+    public float getEchelle() {
+        return echelle;
+    }
+
+    /**
+     * <p>Retourne le distancier exact de repli
+     *
+     * @return le distancier exact, ou <b>null</b>
+     * @since 2013
+     */
+    public Distancier getExact() {
+        return exact;
+    }
+
+    /**
+     * <p>
+     * Retourne la distance quantifiée, pour comparer des distances
+     * sans conversion en <code>float</code>
+     *
+     * @param i l'indice du nœud de départ
+     * @param j l'indice du nœud d'arrivée
+     * @return la distance multipliée par l'échelle, ou {@link #SENTINELLE}
+     * @since 2013
+     */
+    public int getQuantifiee(int i, int j) {
+        return valeurs[position(i, j)];
+    }
+
+    /**
+     * <p>
+     * Retourne la distance approchée ; une distance non représentable est
+     * lue sur le distancier exact, ou vaut {@link Float#POSITIVE_INFINITY}
+     * en l'absence de repli.
+     */
+    @Override
+    public float get(int i, int j) {
+        int q = valeurs[position(i, j)];
+        if (q == SENTINELLE)
+            return (exact != null) ? exact.get(i, j) : Float.POSITIVE_INFINITY;
+
+        return q / echelle;
+    }
+
+    /**
+     * <p>Retourne la distance exacte, pour le calcul final du coût d'une solution
+     *
+     * @param i l'indice du nœud de départ
+     * @param j l'indice du nœud d'arrivée
+     * @return la distance du distancier exact, ou la distance approchée en l'absence de repli
+     * @since 2013
+     */
+    public float getExacte(int i, int j) {
+        return (exact != null) ? exact.get(i, j) : get(i, j);
+    }
+
+    /**
+     * <p>Remplace la distance entre deux nœuds par sa valeur quantifiée</p>
+     */
+    @Override
+    public void set(int i, int j, float distance) {
+        valeurs[position(i, j)] = coder(distance);
+    }
+
+    @Override
+    void setLigne(int i, float[] ligne) {
+        int debut = symetrique ? i : 0;
+        int position = position(i, debut);
+        for (int j = debut; j < nbNoeuds; j++)
+            valeurs[position++] = coder(ligne[j]);
+    }
+
+    private char coder(float distance) {
+        float q = distance * echelle + 0.5f;
+        return (q < VALEUR_MAX + 0.5f) ? (char) q : (char) SENTINELLE;
+    }
+
+    private int position(int i, int j) {
+        return symetrique ? DistancierTriangulaire.indice(nbNoeuds, i, j) : DistancierPlein.indice(nbNoeuds, i, j);
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + "[échelle " + echelle + "]";
+    }
+}
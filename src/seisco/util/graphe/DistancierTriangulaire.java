@@ -0,0 +1,88 @@
+package seisco.util.graphe;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Distancier symétrique ne stockant que le triangle supérieur
+ * (diagonale comprise) dans un unique tableau de <code>float</code>.
+ * Utilisé pour les graphes non orientés, il occupe environ
+ * deux fois moins de mémoire qu'un {@link DistancierPlein}.
+ *
+ * @version 2013
+ * @see GrapheCompact#estSymetrique()
+ */
+public class DistancierTriangulaire extends Distancier {
+
+    private final int nbNoeuds;
+    private final float[] valeurs;
+
+    /**
+     * <p>Instancie un distancier dont toutes les distances sont infinies
+     *
+     * @param nbNoeuds le nombre de nœuds
+     * @throws IllegalArgumentException si le triangle ne tient pas dans un tableau Java
+     * @since 2013
+     */
+    public DistancierTriangulaire(int nbNoeuds) {
+        this.nbNoeuds = nbNoeuds;
+        this.valeurs = new float[taille(nbNoeuds)];
+        Arrays.fill(this.valeurs, Float.POSITIVE_INFINITY);
+    }
+
+    /**
+     * <p>Retourne le nombre de valeurs stockées pour un triangle de n nœuds
+     *
+     * @param nbNoeuds le nombre de nœuds
+     * @return n(n+1)/2
+     * @throws IllegalArgumentException si n(n+1)/2 dépasse la taille d'un tableau Java (n &gt; 65535)
+     * @since 2013
+     */
+    static int taille(int nbNoeuds) {
+        return verifierTaille(nbNoeuds, (long) nbNoeuds * (nbNoeuds + 1) / 2);
+    }
+
+    /**
+     * <p>Retourne la position de la paire (i, j) dans le triangle supérieur
+     *
+     * @param nbNoeuds le nombre de nœuds
+     * @param i l'indice d'un nœud
+     * @param j l'indice de l'autre nœud
+     * @return la position de la paire, quel que soit l'ordre de <code>i</code> et <code>j</code>
+     * @since 2013
+     */
+    static int indice(int nbNoeuds, int i, int j) {
+        if (i > j) {
+            int t = i;
+            i = j;
+            j = t;
+        }
+
+        return (int) ((long) i * nbNoeuds - (long) i * (i - 1) / 2 + (j - i));
+    }
+
+    @Override
+    public int getNbNoeuds() {
+        return nbNoeuds;
+    }
+
+    @Override
+    public float get(int i, int j) {
+        return valeurs[indice(nbNoeuds, i, j)];
+    }
+
+    @Override
+    public void set(int i, int j, float distance) {
+        valeurs[indice(nbNoeuds, i, j)] = distance;
+    }
+
+    @Override
+    public boolean estSymetrique() {
+        return true;
+    }
+
+    @Override
+    void setLigne(int i, float[] ligne) {
+        System.arraycopy(ligne, i, valeurs, indice(nbNoeuds, i, i), nbNoeuds - i);
+    }
+}
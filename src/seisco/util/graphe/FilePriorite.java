@@ -0,0 +1,86 @@
+package seisco.util.graphe;
+
+/**
+ * <p>
+ * File de priorité minimum sur les éléments <code>0..capacite-1</code>,
+ * utilisée par
+ * {@link Dijkstra#computePaths(seisco.util.graphe.GrapheCompact, int, float[], int[], seisco.util.graphe.FilePriorite)}.
+ *
+ * <p>Deux implémentations sont disponibles :
+ * <ul>
+ *  <li>{@link TasIndexe} : tas binaire, pour tous les graphes ;</li>
+ *  <li>{@link FileSeaux} : file à seaux (algorithme de Dial), en temps quasi
+ *      linéaire lorsque les coûts de parcours sont des petits entiers.</li>
+ * </ul>
+ * {@link #creer(seisco.util.graphe.GrapheCompact)} choisit la plus adaptée au graphe.
+ *
+ * <p>Une file n'est pas thread-safe : chaque tâche de calcul utilise la sienne.
+ *
+ * @version 2013
+ */
+public abstract class FilePriorite {
+
+    /**
+     * <p>
+     * Crée la file de priorité la plus adaptée aux coûts de parcours du graphe :
+     * une {@link FileSeaux} si ce sont des entiers bornés, un {@link TasIndexe} sinon.
+     *
+     * @param graphe la vue compacte du graphe à parcourir
+     * @return une file vide d'une capacité égale au nombre de nœuds
+     * @since 2013
+     * @see FileSeaux#estAdaptee(seisco.util.graphe.GrapheCompact)
+     */
+    public static FilePriorite creer(GrapheCompact graphe) {
+        if (FileSeaux.estAdaptee(graphe))
+            return new FileSeaux(graphe.getNbNoeuds(), graphe.getCoutMaxEntier());
+
+        return new TasIndexe(graphe.getNbNoeuds());
+    }
+
+    /**
+     * <p>Retourne le nombre d'éléments présents dans la file
+     *
+     * @return le nombre d'éléments
+     * @since 2013
+     */
+    public abstract int taille();
+
+    /**
+     * <p>Indique si la file est vide
+     *
+     * @return
+     *  <p> <b>true</b> si la file ne contient aucun élément
+     *  <p> <b>false</b> sinon
+     * @since 2013
+     */
+    public boolean estVide() {
+        return taille() == 0;
+    }
+
+    /**
+     * <p>
+     * Insère un élément absent de la file, ou diminue sa clé s'il y est déjà.
+     * Une clé supérieure à la clé actuelle est ignorée.
+     *
+     * @param element l'élément à insérer
+     * @param cle la clé de l'élément
+     * @since 2013
+     */
+    public abstract void insererOuDiminuer(int element, float cle);
+
+    /**
+     * <p>Retire et retourne l'élément de clé minimum
+     *
+     * @return l'élément de plus petite clé
+     * @throws java.util.NoSuchElementException si la file est vide
+     * @since 2013
+     */
+    public abstract int extraireMin();
+
+    /**
+     * <p>Vide la file, qui peut alors être réutilisée pour une autre source
+     *
+     * @since 2013
+     */
+    public abstract void vider();
+}
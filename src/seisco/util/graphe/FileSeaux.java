@@ -0,0 +1,153 @@
+package seisco.util.graphe;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>
+ * File de priorité à seaux (algorithme de Dial) pour les graphes dont les
+ * coûts de parcours sont des entiers compris entre 0 et <code>C</code>.
+ *
+ * <p>
+ * Pendant un parcours de Dijkstra, toutes les clés présentes dans la file
+ * sont comprises entre la dernière clé extraite et cette clé plus
+ * <code>C</code> : <code>C + 1</code> seaux utilisés de façon circulaire
+ * suffisent. Insérer ou diminuer une clé est en O(1), et l'extraction
+ * parcourt au plus <code>C</code> seaux vides ; un calcul complet coûte
+ * O(m + n·C) au lieu de O(m log n).
+ *
+ * <p>
+ * Les clés doivent être des entiers positifs représentés exactement par des
+ * <code>float</code>, et rester comprises entre la dernière clé extraite
+ * (0 après {@link #vider()}) et cette clé plus <code>C</code>, ce qui est le
+ * cas de Dijkstra depuis une source de clé 0. La position courante n'est
+ * déplacée que par les extractions, même quand la file se vide.
+ *
+ * @version 2013
+ * @see FilePriorite#creer(seisco.util.graphe.GrapheCompact)
+ */
+public class FileSeaux extends FilePriorite {
+
+    /**
+     * <p>Coût de parcours maximum, donc nombre de seaux, au-delà duquel le tas binaire est préféré
+     */
+    public static final int COUT_MAX = 4096;
+
+    /**
+     * <p>Plus grande distance représentée exactement par un <code>float</code> (2<sup>24</sup>)
+     */
+    private static final long DISTANCE_MAX = 1L << 24;
+
+    private static final int AUCUN = -1;
+
+    private final int[] seaux;
+    private final int[] suivants;
+    private final int[] precedents;
+    private final int[] cles;
+    private int courant;
+    private int taille;
+
+    /**
+     * <p>Instancie une file vide
+     *
+     * @param capacite le nombre d'éléments distincts
+     * @param coutMax le plus grand coût d'arc du graphe parcouru
+     * @since 2013
+     */
+    public FileSeaux(int capacite, int coutMax) {
+        this.seaux = new int[coutMax + 1];
+        this.suivants = new int[capacite];
+        this.precedents = new int[capacite];
+        this.cles = new int[capacite];
+        this.courant = 0;
+        this.taille = 0;
+
+        Arrays.fill(this.seaux, AUCUN);
+        Arrays.fill(this.cles, AUCUN);
+    }
+
+    /**
+     * <p>Indique si les coûts de parcours du graphe permettent d'utiliser une file à seaux
+     *
+     * @param graphe la vue compacte du graphe
+     * @return
+     *  <p> <b>true</b> si les coûts sont entiers, au plus égaux à {@link #COUT_MAX},
+     *      et si toute distance reste exacte en <code>float</code>
+     *  <p> <b>false</b> sinon
+     * @since 2013
+     * @see GrapheCompact#getCoutMaxEntier()
+     */
+    public static boolean estAdaptee(GrapheCompact graphe) {
+        int coutMax = graphe.getCoutMaxEntier();
+        return coutMax >= 0 && coutMax <= COUT_MAX
+                && (long) graphe.getNbNoeuds() * coutMax < DISTANCE_MAX;
+    }
+
+    @Override
+    public int taille() {
+        return taille;
+    }
+
+    @Override
+    public void insererOuDiminuer(int element, float cle) {
+        int nouvelle = (int) cle;
+        int ancienne = cles[element];
+
+        if (ancienne != AUCUN) {
+            if (nouvelle >= ancienne)
+                return;
+            retirer(element, ancienne);
+        }
+
+        int seau = nouvelle % seaux.length;
+        int tete = seaux[seau];
+        suivants[element] = tete;
+        precedents[element] = AUCUN;
+        if (tete != AUCUN)
+            precedents[tete] = element;
+        seaux[seau] = element;
+
+        cles[element] = nouvelle;
+        taille++;
+    }
+
+    @Override
+    public int extraireMin() {
+        if (taille == 0)
+            throw new NoSuchElementException("La file est vide");
+
+        while (seaux[courant % seaux.length] == AUCUN)
+            courant++;
+
+        int min = seaux[courant % seaux.length];
+        retirer(min, courant);
+        cles[min] = AUCUN;
+
+        return min;
+    }
+
+    @Override
+    public void vider() {
+        for (int s = 0; s < seaux.length; s++) {
+            for (int e = seaux[s]; e != AUCUN; e = suivants[e])
+                cles[e] = AUCUN;
+            seaux[s] = AUCUN;
+        }
+
+        courant = 0;
+        taille = 0;
+    }
+
+    private void retirer(int element, int cle) {
+        int suivant = suivants[element], precedent = precedents[element];
+
+        if (precedent != AUCUN)
+            suivants[precedent] = suivant;
+        else
+            seaux[cle % seaux.length] = suivant;
+        if (suivant != AUCUN)
+            precedents[suivant] = precedent;
+
+        taille--;
+    }
+}
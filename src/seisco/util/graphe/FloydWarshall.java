@@ -0,0 +1,215 @@
+package seisco.util.graphe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <p>
+ * Calcule le distancier d'un {@link GrapheCompact} par l'algorithme de
+ * Floyd-Warshall, découpé en blocs pour rester dans le cache et exécuté
+ * en parallèle dans un {@link ForkJoinPool}.
+ *
+ * <p>
+ * Pour chaque bloc de pivots <code>k</code>, le bloc diagonal est d'abord
+ * mis à jour, puis les blocs de sa ligne et de sa colonne, puis tous les
+ * autres blocs ; les blocs d'une même phase sont indépendants.
+ *
+ * <p>
+ * Sur les graphes denses, ce moteur est plus rapide que n exécutions de
+ * {@link Dijkstra} ; il est choisi automatiquement par
+ * {@link Dijkstra#calculerDistancier(seisco.util.graphe.GrapheCompact)}
+ * (voir {@link #estAdapte(seisco.util.graphe.GrapheCompact)}). Les distances
+ * sont les mêmes, à l'arrondi des sommes de <code>float</code> près.
+ *
+ * <p>
+ * Le calcul se fait sur une matrice pleine ; comme pour
+ * {@link Distancier#creer(seisco.util.graphe.GrapheCompact)}, le résultat
+ * est recopié dans un {@link DistancierTriangulaire} si le graphe est
+ * symétrique.
+ *
+ * @version 2013
+ */
+public class FloydWarshall {
+
+    /**
+     * <p>
+     * Densité d'arcs (m / n²) à partir de laquelle Floyd-Warshall
+     * est préféré à Dijkstra
+     */
+    public static final double SEUIL_DENSITE = 0.5;
+
+    /**
+     * <p>Nombre de nœuds par côté de bloc (64 × 64 floats = 16 Ko)
+     */
+    public static final int TAILLE_BLOC = 64;
+
+    private FloydWarshall() {
+    }
+
+    /**
+     * <p>Indique si le graphe est assez dense pour que Floyd-Warshall soit préférable
+     *
+     * @param graphe la vue compacte du graphe
+     * @return
+     *  <p> <b>true</b> si la densité d'arcs atteint {@link #SEUIL_DENSITE}
+     *  <p> <b>false</b> sinon
+     * @since 2013
+     */
+    public static boolean estAdapte(GrapheCompact graphe) {
+        double n = graphe.getNbNoeuds();
+        return n > 0 && graphe.getNbArcs() / (n * n) >= SEUIL_DENSITE;
+    }
+
+    /**
+     * <p>
+     * Calcule le distancier d'un graphe dans un {@link ForkJoinPool}
+     * dimensionné sur le nombre de processeurs et libéré à la fin du calcul.
+     *
+     * @param graphe la vue compacte du graphe
+     * @return le distancier du graphe, triangulaire si le graphe est symétrique
+     * @since 2013
+     */
+    public static Distancier calculer(GrapheCompact graphe) {
+        ForkJoinPool pool = new ForkJoinPool();
+        try {
+            return calculer(graphe, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * <p>Calcule le distancier d'un graphe dans le {@link ForkJoinPool} fourni.
+     *
+     * @param graphe la vue compacte du graphe
+     * @param pool le pool dans lequel exécuter le calcul
+     * @return le distancier du graphe, triangulaire si le graphe est symétrique
+     * @since 2013
+     * @see GrapheCompact#estSymetrique()
+     */
+    public static Distancier calculer(GrapheCompact graphe, ForkJoinPool pool) {
+        int n = graphe.getNbNoeuds();
+        DistancierPlein distancier = new DistancierPlein(n);
+        float[] d = distancier.getValeurs();
+
+        // Initialisation par les arcs (le plus petit en cas d'arcs multiples)
+        int[] cibles = graphe.getCibles();
+        float[] poids = graphe.getCoutsParcours();
+        for (int u = 0; u < n; u++) {
+            d[u * n + u] = 0;
+            for (int k = graphe.debut(u); k < graphe.fin(u); k++) {
+                int position = u * n + cibles[k];
+                if (poids[k] < d[position])
+                    d[position] = poids[k];
+            }
+        }
+
+        int nbBlocs = (n + TAILLE_BLOC - 1) / TAILLE_BLOC;
+        List<MiseAJourBloc> phase = new ArrayList<MiseAJourBloc>();
+
+        for (int kb = 0; kb < nbBlocs; kb++) {
+            // Phase 1 : bloc diagonal
+            new MiseAJourBloc(d, n, kb, kb, kb).compute();
+
+            // Phase 2 : ligne et colonne du bloc diagonal
+            phase.clear();
+            for (int b = 0; b < nbBlocs; b++) {
+                if (b != kb) {
+                    phase.add(new MiseAJourBloc(d, n, kb, b, kb));
+                    phase.add(new MiseAJourBloc(d, n, b, kb, kb));
+                }
+            }
+            executer(pool, phase);
+
+            // Phase 3 : blocs restants
+            phase.clear();
+            for (int ib = 0; ib < nbBlocs; ib++)
+                if (ib != kb)
+                    for (int jb = 0; jb < nbBlocs; jb++)
+                        if (jb != kb)
+                            phase.add(new MiseAJourBloc(d, n, ib, jb, kb));
+            executer(pool, phase);
+        }
+
+        if (!graphe.estSymetrique())
+            return distancier;
+
+        DistancierTriangulaire triangle = new DistancierTriangulaire(n);
+        float[] ligne = new float[n];
+        for (int i = 0; i < n; i++) {
+            distancier.getLigne(i, ligne);
+            triangle.setLigne(i, ligne);
+        }
+
+        return triangle;
+    }
+
+    private static void executer(ForkJoinPool pool, final List<MiseAJourBloc> taches) {
+        if (taches.isEmpty())
+            return;
+
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(taches);
+            }
+        });
+    }
+
+    /**
+     * <p>
+     * Met à jour le bloc (ib, jb) de la matrice en passant
+     * par les pivots du bloc kb.
+     *
+     * @since 2013
+     */
+    private static class MiseAJourBloc extends RecursiveAction {
+        private final float[] d;
+        private final int n;
+        private final int ib;
+        private final int jb;
+        private final int kb;
+
+        MiseAJourBloc(float[] d, int n, int ib, int jb, int kb) {
+            this.d = d;
+            this.n = n;
+            this.ib = ib;
+            this.jb = jb;
+            this.kb = kb;
+        }
+
+        @Override
+        protected void compute() {
+            int iDebut = ib * TAILLE_BLOC, iFin = Math.min(n, iDebut + TAILLE_BLOC);
+            int jDebut = jb * TAILLE_BLOC, jFin = Math.min(n, jDebut + TAILLE_BLOC);
+            int kDebut = kb * TAILLE_BLOC, kFin = Math.min(n, kDebut + TAILLE_BLOC);
+
+            if (ib == kb || jb == kb) {
+                // Bloc dépendant des pivots qu'il contient : k en boucle externe
+                for (int k = kDebut; k < kFin; k++)
+                    for (int i = iDebut; i < iFin; i++)
+                        relaxer(i * n, k, jDebut, jFin);
+            } else {
+                // Bloc indépendant : la ligne i reste en cache pour tous les pivots
+                for (int i = iDebut; i < iFin; i++)
+                    for (int k = kDebut; k < kFin; k++)
+                        relaxer(i * n, k, jDebut, jFin);
+            }
+        }
+
+        private void relaxer(int ligneI, int k, int jDebut, int jFin) {
+            float dik = d[ligneI + k];
+            if (dik == Float.POSITIVE_INFINITY)
+                return;
+
+            int ligneK = k * n;
+            for (int j = jDebut; j < jFin; j++) {
+                float candidat = dik + d[ligneK + j];
+                float actuelle = d[ligneI + j];
+                d[ligneI + j] = (candidat < actuelle) ? candidat : actuelle;
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package seisco.util.graphe;
 
 import jade.content.Concept;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -14,19 +15,102 @@ public class Graphe implements Concept {
 	protected String nom;
 	protected List<Noeud> noeuds;
 	protected List<Arc> arcs;
+	protected RegistreNoms registreCouts;
+	protected RegistreNoms registreProprietes;
+	protected AllocateurIds allocateurNoeuds;
+	protected AllocateurIds allocateurArcs;
 
     /**
      * <p>Instancie un nouveau graphe
      * 
+     * <p>
+     * Les noms des coûts et des propriétés des arcs sont enregistrés dans
+     * les registres du graphe, et chaque arc est indexé afin que
+     * {@link Arc#getCout(java.lang.String)} devienne une lecture de tableau.
+     * 
+     * <p>
+     * Les nœuds et arcs créés ensuite par {@link #creerNoeud()} et
+     * {@link #creerArc(seisco.util.graphe.Noeud, seisco.util.graphe.Noeud)}
+     * sont numérotés à la suite des plus grands numéros existants.
+     * 
      * @param nom le nom du graphe
      * @param noeuds la liste de nœuds du graphe
      * @param arcs la liste des arcs du graphe
+     * @see Arc#indexer(seisco.util.graphe.RegistreNoms, seisco.util.graphe.RegistreNoms)
      */
 	public Graphe(String nom, List<Noeud> noeuds, List<Arc> arcs) {
 		super();
 		this.nom = nom;
 		this.noeuds = noeuds;
 		this.arcs = arcs;
+		this.registreCouts = new RegistreNoms();
+		this.registreProprietes = new RegistreNoms();
+
+		// Le coût de parcours reçoit toujours l'identifiant 0
+		this.registreCouts.id(Arc.NOM_COUT_PARCOURS);
+		for (Arc a : arcs)
+			a.indexer(registreCouts, registreProprietes);
+
+		int maxNoeud = -1, maxArc = -1;
+		for (Noeud n : noeuds)
+			maxNoeud = Math.max(maxNoeud, n.getNumero());
+		for (Arc a : arcs)
+			maxArc = Math.max(maxArc, a.getNumero());
+		this.allocateurNoeuds = new AllocateurIds(maxNoeud + 1);
+		this.allocateurArcs = new AllocateurIds(maxArc + 1);
+	}
+
+    /**
+     * <p>
+     * Instancie un graphe vide, à remplir par {@link #creerNoeud()} et
+     * {@link #creerArc(seisco.util.graphe.Noeud, seisco.util.graphe.Noeud)}.
+     * Ses nœuds et ses arcs sont alors numérotés de 0 à n-1 et de 0 à m-1.
+     * 
+     * @param nom le nom du graphe
+     * @since 2013
+     */
+	public Graphe(String nom) {
+		this(nom, new ArrayList<Noeud>(), new ArrayList<Arc>());
+	}
+
+    /**
+     * <p>
+     * Crée un nœud numéroté par le graphe et l'ajoute à ses nœuds.
+     * Le numéro attribué est aussi la position du nœud dans {@link #getNoeuds()}
+     * tant que tous les nœuds sont créés ainsi.
+     * 
+     * <p>
+     * La numérotation est thread-safe, ce qui permet de construire
+     * plusieurs graphes en parallèle ; la liste des nœuds d'un même graphe
+     * ne doit être remplie que par une tâche à la fois.
+     * 
+     * @return le nœud créé
+     * @since 2013
+     * @see AllocateurIds
+     */
+	public Noeud creerNoeud() {
+		Noeud noeud = new Noeud(allocateurNoeuds);
+		noeuds.add(noeud);
+		return noeud;
+	}
+
+    /**
+     * <p>
+     * Crée un arc numéroté par le graphe, l'indexe par ses registres et
+     * l'ajoute à ses arcs et aux adjacents de son nœud de départ.
+     * 
+     * @param depart le nœud de départ de l'arc
+     * @param arrivee le nœud d'arrivée de l'arc
+     * @return l'arc créé
+     * @since 2013
+     * @see #creerNoeud()
+     */
+	public Arc creerArc(Noeud depart, Noeud arrivee) {
+		Arc arc = new Arc(depart, arrivee, allocateurArcs);
+		arc.indexer(registreCouts, registreProprietes);
+		depart.adjacents.add(arc);
+		arcs.add(arc);
+		return arc;
 	}
 
     /**
@@ -51,6 +135,28 @@ public class Graphe implements Concept {
 		return arcs;
 	}
 
+    /**
+     * <p>Retourne le registre des noms de {@link Cout} du graphe
+     * 
+     * @return le registre des noms de coûts
+     * @since 2013
+     * @see Arc#getCout(int)
+     */
+	public RegistreNoms getRegistreCouts() {
+		return registreCouts;
+	}
+
+    /**
+     * <p>Retourne le registre des noms de {@link seisco.util.Propriete} du graphe
+     * 
+     * @return le registre des noms de propriétés
+     * @since 2013
+     * @see Arc#getPropriete(int)
+     */
+	public RegistreNoms getRegistreProprietes() {
+		return registreProprietes;
+	}
+
     /**
      * <p>
      * Retourne une représentation du graphe sous forme de {@link String}.
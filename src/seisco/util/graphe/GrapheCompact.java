@@ -0,0 +1,530 @@
+package seisco.util.graphe;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * Vue immuable et compacte d'un {@link Graphe}, au format CSR
+ * (« compressed sparse row »).
+ *
+ * <p>
+ * Les nœuds sont désignés par leur indice dans {@link Graphe#getNoeuds()}.
+ * Les arcs sortant du nœud <code>u</code> occupent les positions
+ * <code>offsets[u]</code> à <code>offsets[u + 1] - 1</code> du tableau
+ * {@link #cibles}, et chaque {@link Cout} porté par les arcs est stocké dans
+ * sa propre colonne de <code>float</code>, alignée sur {@link #cibles}.
+ * Un arc ne possédant pas un coût donné y vaut
+ * {@link Float#POSITIVE_INFINITY}.
+ *
+ * <p>
+ * Cette représentation évite les objets {@link Arc}, {@link Cout} et
+ * {@link Noeud} lors des parcours, ce qui permet à {@link Dijkstra}
+ * de calculer un distancier sans défaut de cache.
+ *
+ * @version 2013
+ * @see Dijkstra#initialiserDistancier(seisco.util.graphe.GrapheCompact)
+ */
+public class GrapheCompact {
+
+    private static final int COUT_MAX_INCONNU = -2;
+
+    private final int nbNoeuds;
+    private final int[] offsets;
+    private final int[] cibles;
+    private final String[] nomsCouts;
+    private final float[][] colonnes;
+
+    /* Arcs d'origine alignés sur les cibles, null si la vue ne vient pas d'un Graphe */
+    private Arc[] arcs;
+    private volatile long empreinte;
+    private volatile int coutMaxEntier = COUT_MAX_INCONNU;
+    private volatile GrapheCompact inverse;
+
+    /**
+     * <p>Instancie une vue compacte à partir de tableaux déjà construits.
+     *
+     * @param offsets les débuts de ligne de chaque nœud (taille n + 1)
+     * @param cibles les nœuds d'arrivée des arcs
+     * @param nomsCouts le nom de chaque colonne de coût
+     * @param colonnes les valeurs des coûts, une colonne par nom
+     * @since 2013
+     */
+    GrapheCompact(int[] offsets, int[] cibles, String[] nomsCouts, float[][] colonnes) {
+        this.nbNoeuds = offsets.length - 1;
+        this.offsets = offsets;
+        this.cibles = cibles;
+        this.nomsCouts = nomsCouts;
+        this.colonnes = colonnes;
+    }
+
+    /**
+     * <p>
+     * Construit la vue compacte d'un {@link Graphe}.
+     * Les arcs sont lus à partir des adjacents de chaque {@link Noeud},
+     * comme le fait {@link Dijkstra#computePaths(seisco.util.graphe.Noeud)}.
+     *
+     * @param graphe le graphe à compacter
+     * @return la vue compacte du graphe
+     * @since 2013
+     */
+    public static GrapheCompact depuis(Graphe graphe) {
+        List<Noeud> noeuds = graphe.getNoeuds();
+        int n = noeuds.size();
+
+        // Numérotation dense (voir Graphe#creerNoeud()) : le numéro est l'indice
+        boolean dense = true;
+        for (int i = 0; i < n && dense; i++)
+            dense = noeuds.get(i).getNumero() == i;
+
+        Map<Integer, Integer> indices = null;
+        if (!dense) {
+            indices = new HashMap<Integer, Integer>(n * 2);
+            for (int i = 0; i < n; i++)
+                indices.put(noeuds.get(i).getNumero(), i);
+        }
+
+        // Indexation des arcs par le registre du graphe et recensement
+        RegistreNoms registre = graphe.getRegistreCouts();
+        int nbArcs = 0;
+        for (Noeud noeud : noeuds) {
+            for (Arc a : noeud.adjacents) {
+                if (!a.estIndexe(registre))
+                    a.indexer(registre, graphe.getRegistreProprietes());
+                nbArcs++;
+            }
+        }
+
+        // Une colonne par identifiant de coût du registre
+        String[] nomsCouts = new String[registre.taille()];
+        for (int c = 0; c < nomsCouts.length; c++)
+            nomsCouts[c] = registre.nom(c);
+
+        int[] offsets = new int[n + 1];
+        int[] cibles = new int[nbArcs];
+        float[][] colonnes = new float[nomsCouts.length][nbArcs];
+        Arc[] arcs = new Arc[nbArcs];
+
+        int k = 0;
+        for (int u = 0; u < n; u++) {
+            offsets[u] = k;
+            for (Arc a : noeuds.get(u).adjacents) {
+                int numero = a.arrivee.getNumero();
+                Integer v = dense ? ((numero >= 0 && numero < n) ? Integer.valueOf(numero) : null)
+                        : indices.get(numero);
+                if (v == null)
+                    throw new IllegalArgumentException("L'arc " + a.getNumero()
+                            + " mène à un nœud absent du graphe : " + a.arrivee);
+
+                cibles[k] = v;
+                arcs[k] = a;
+                for (int c = 0; c < nomsCouts.length; c++) {
+                    Cout cout = a.getCout(c);
+                    colonnes[c][k] = (cout == null) ? Float.POSITIVE_INFINITY : cout.getValeur();
+                }
+                k++;
+            }
+        }
+        offsets[n] = k;
+
+        GrapheCompact compact = new GrapheCompact(offsets, cibles, nomsCouts, colonnes);
+        compact.arcs = arcs;
+        return compact;
+    }
+
+    /**
+     * <p>Retourne le nombre de nœuds du graphe
+     *
+     * @return le nombre de nœuds
+     * @since 2013
+     */
+    public int getNbNoeuds() {
+        return nbNoeuds;
+    }
+
+    /**
+     * <p>Retourne le nombre d'arcs du graphe
+     *
+     * @return le nombre d'arcs
+     * @since 2013
+     */
+    public int getNbArcs() {
+        return cibles.length;
+    }
+
+    /**
+     * <p>Retourne la position du premier arc sortant de <code>u</code>
+     *
+     * @param u l'indice du nœud
+     * @return la position du premier arc sortant dans {@link #getCibles()}
+     * @since 2013
+     * @see #fin(int)
+     */
+    public int debut(int u) {
+        return offsets[u];
+    }
+
+    /**
+     * <p>Retourne la position qui suit le dernier arc sortant de <code>u</code>
+     *
+     * @param u l'indice du nœud
+     * @return la position suivant le dernier arc sortant
+     * @since 2013
+     * @see #debut(int)
+     */
+    public int fin(int u) {
+        return offsets[u + 1];
+    }
+
+    /**
+     * <p>Retourne le nœud de départ de l'arc situé à une position donnée
+     *
+     * @param position la position de l'arc dans {@link #getCibles()}
+     * @return l'indice du nœud dont l'arc est sortant
+     * @since 2013
+     */
+    public int origine(int position) {
+        int bas = 0, haut = nbNoeuds - 1;
+
+        // Dernier nœud dont la ligne commence avant la position
+        while (bas < haut) {
+            int milieu = (bas + haut + 1) >>> 1;
+            if (offsets[milieu] <= position)
+                bas = milieu;
+            else
+                haut = milieu - 1;
+        }
+
+        return bas;
+    }
+
+    /**
+     * <p>
+     * Retourne les positions des {@link Arc} donnés dans la vue compacte.
+     * Seuls les arcs de la vue construite par
+     * {@link #depuis(seisco.util.graphe.Graphe)} sont retrouvés.
+     *
+     * @param arcsRecherches les arcs dont on veut les positions
+     * @return les positions des arcs trouvés, dans l'ordre des cibles
+     * @since 2013
+     */
+    public int[] positions(Collection<Arc> arcsRecherches) {
+        if (arcs == null || arcsRecherches.isEmpty())
+            return new int[0];
+
+        Set<Arc> recherches = Collections.newSetFromMap(new IdentityHashMap<Arc, Boolean>());
+        recherches.addAll(arcsRecherches);
+
+        int[] positions = new int[recherches.size()];
+        int nb = 0;
+        for (int k = 0; k < arcs.length && nb < positions.length; k++)
+            if (recherches.contains(arcs[k]))
+                positions[nb++] = k;
+
+        return Arrays.copyOf(positions, nb);
+    }
+
+    /**
+     * <p>
+     * Retourne une nouvelle vue dans laquelle les coûts des {@link Arc}
+     * donnés sont relus sur les objets. La structure (nœuds et arcs)
+     * est partagée avec la vue courante, qui reste inchangée.
+     *
+     * @param arcsModifies les arcs dont les coûts ont changé
+     * @return la vue compacte à jour
+     * @since 2013
+     * @see DistancierIncremental
+     */
+    public GrapheCompact avecCouts(Collection<Arc> arcsModifies) {
+        float[][] nouvellesColonnes = new float[colonnes.length][];
+        for (int c = 0; c < colonnes.length; c++)
+            nouvellesColonnes[c] = colonnes[c].clone();
+
+        for (int k : positions(arcsModifies)) {
+            for (int c = 0; c < nomsCouts.length; c++) {
+                Cout cout = arcs[k].getCout(nomsCouts[c]);
+                nouvellesColonnes[c][k] = (cout == null) ? Float.POSITIVE_INFINITY : cout.getValeur();
+            }
+        }
+
+        GrapheCompact compact = new GrapheCompact(offsets, cibles, nomsCouts, nouvellesColonnes);
+        compact.arcs = arcs;
+        return compact;
+    }
+
+    /**
+     * <p>
+     * Retourne le tableau des débuts de ligne (taille n + 1).
+     * Le tableau est partagé : il ne doit pas être modifié.
+     *
+     * @return les débuts de ligne
+     * @since 2013
+     */
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    /**
+     * <p>
+     * Retourne le tableau des nœuds d'arrivée des arcs.
+     * Le tableau est partagé : il ne doit pas être modifié.
+     *
+     * @return les nœuds d'arrivée
+     * @since 2013
+     */
+    public int[] getCibles() {
+        return cibles;
+    }
+
+    /**
+     * <p>Retourne les noms des colonnes de coût
+     *
+     * @return une copie des noms des coûts
+     * @since 2013
+     */
+    public String[] getNomsCouts() {
+        return nomsCouts.clone();
+    }
+
+    /**
+     * <p>
+     * Retourne la colonne de valeurs d'un {@link Cout}.
+     * Le tableau est partagé : il ne doit pas être modifié.
+     *
+     * @param nomCout le nom du coût
+     * @return
+     *  <p> la colonne des valeurs du coût, alignée sur {@link #getCibles()}
+     *  <p> <b>null</b> si aucun arc ne porte ce coût
+     * @since 2013
+     */
+    public float[] getColonne(String nomCout) {
+        for (int c = 0; c < nomsCouts.length; c++)
+            if (nomsCouts[c].equals(nomCout))
+                return colonnes[c];
+
+        return null;
+    }
+
+    /**
+     * <p>
+     * Retourne la colonne de valeurs d'un {@link Cout} par son identifiant.
+     * Pour une vue construite par {@link #depuis(seisco.util.graphe.Graphe)},
+     * les identifiants sont ceux de {@link Graphe#getRegistreCouts()}.
+     * Le tableau est partagé : il ne doit pas être modifié.
+     *
+     * @param id l'identifiant du coût, c'est-à-dire le numéro de colonne
+     * @return la colonne des valeurs du coût, alignée sur {@link #getCibles()}
+     * @since 2013
+     */
+    public float[] getColonne(int id) {
+        return colonnes[id];
+    }
+
+    /**
+     * <p>
+     * Retourne la colonne des coûts de parcours ({@link Arc#NOM_COUT_PARCOURS}).
+     * Si aucun arc ne porte ce coût, tous les arcs sont infranchissables.
+     *
+     * @return la colonne des coûts de parcours
+     * @since 2013
+     */
+    public float[] getCoutsParcours() {
+        float[] couts = getColonne(Arc.NOM_COUT_PARCOURS);
+        if (couts == null) {
+            couts = new float[cibles.length];
+            Arrays.fill(couts, Float.POSITIVE_INFINITY);
+        }
+
+        return couts;
+    }
+
+    /**
+     * <p>
+     * Retourne le graphe inverse, dans lequel chaque arc <code>u → v</code>
+     * devient <code>v → u</code> avec les mêmes coûts. Les arcs entrant
+     * dans un nœud sont ainsi parcourus comme des arcs sortants.
+     *
+     * @return le graphe inverse, calculé une seule fois
+     * @since 2013
+     */
+    public GrapheCompact inverse() {
+        GrapheCompact inv = inverse;
+        if (inv == null) {
+            int m = cibles.length;
+            int[] offsetsInv = new int[nbNoeuds + 1];
+            for (int k = 0; k < m; k++)
+                offsetsInv[cibles[k] + 1]++;
+            for (int v = 0; v < nbNoeuds; v++)
+                offsetsInv[v + 1] += offsetsInv[v];
+
+            int[] prochain = Arrays.copyOf(offsetsInv, nbNoeuds);
+            int[] ciblesInv = new int[m];
+            float[][] colonnesInv = new float[colonnes.length][m];
+
+            for (int u = 0; u < nbNoeuds; u++) {
+                for (int k = offsets[u]; k < offsets[u + 1]; k++) {
+                    int position = prochain[cibles[k]]++;
+                    ciblesInv[position] = u;
+                    for (int c = 0; c < colonnes.length; c++)
+                        colonnesInv[c][position] = colonnes[c][k];
+                }
+            }
+
+            inv = new GrapheCompact(offsetsInv, ciblesInv, nomsCouts, colonnesInv);
+            inv.inverse = this;
+            inverse = inv;
+        }
+
+        return inv;
+    }
+
+    /**
+     * <p>
+     * Indique si les coûts de parcours sont symétriques : pour toute paire
+     * de nœuds, le plus petit arc <code>u → v</code> a le même coût que le
+     * plus petit arc <code>v → u</code>. C'est le cas des graphes non orientés,
+     * dont le distancier est alors lui aussi symétrique.
+     *
+     * @return
+     *  <p> <b>true</b> si le graphe est symétrique
+     *  <p> <b>false</b> sinon
+     * @since 2013
+     * @see DistancierTriangulaire
+     */
+    public boolean estSymetrique() {
+        GrapheCompact inv = inverse();
+        float[] poids = getCoutsParcours();
+        float[] poidsInv = inv.getCoutsParcours();
+
+        float[] sortant = new float[nbNoeuds];
+        float[] entrant = new float[nbNoeuds];
+        int[] marque = new int[nbNoeuds];
+        Arrays.fill(marque, -1);
+
+        for (int u = 0; u < nbNoeuds; u++) {
+            // Plus petit arc sortant vers chaque voisin
+            int nbSortants = 0;
+            for (int k = offsets[u]; k < offsets[u + 1]; k++) {
+                int v = cibles[k];
+                if (marque[v] != u) {
+                    marque[v] = u;
+                    sortant[v] = poids[k];
+                    entrant[v] = Float.NaN;
+                    nbSortants++;
+                } else if (poids[k] < sortant[v]) {
+                    sortant[v] = poids[k];
+                }
+            }
+
+            // Plus petit arc entrant depuis chaque voisin
+            int nbEntrants = 0;
+            for (int k = inv.offsets[u]; k < inv.offsets[u + 1]; k++) {
+                int v = inv.cibles[k];
+                if (marque[v] != u)
+                    return false;
+
+                if (Float.isNaN(entrant[v])) {
+                    entrant[v] = poidsInv[k];
+                    nbEntrants++;
+                } else if (poidsInv[k] < entrant[v]) {
+                    entrant[v] = poidsInv[k];
+                }
+            }
+
+            if (nbEntrants != nbSortants)
+                return false;
+
+            for (int k = offsets[u]; k < offsets[u + 1]; k++)
+                if (sortant[cibles[k]] != entrant[cibles[k]])
+                    return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * <p>
+     * Retourne le plus grand coût de parcours du graphe s'ils sont
+     * tous entiers positifs, ce qui permet d'utiliser une {@link FileSeaux}.
+     *
+     * @return
+     *  <p> le plus grand coût de parcours, calculé une seule fois
+     *  <p> <b>-1</b> si un coût n'est pas un entier positif représentable par un <code>int</code>
+     * @since 2013
+     */
+    public int getCoutMaxEntier() {
+        int max = coutMaxEntier;
+        if (max == COUT_MAX_INCONNU) {
+            max = 0;
+            for (float p : getCoutsParcours()) {
+                if (!(p >= 0 && p <= Integer.MAX_VALUE && p == (float) Math.floor(p))) {
+                    max = -1;
+                    break;
+                }
+                if (p > max)
+                    max = (int) p;
+            }
+            coutMaxEntier = max;
+        }
+
+        return max;
+    }
+
+    /**
+     * <p>
+     * Retourne une empreinte 64 bits (FNV-1a) du contenu utile au distancier :
+     * le nombre de nœuds, la structure des arcs et les coûts de parcours.
+     * Deux graphes de même empreinte produisent le même distancier.
+     *
+     * @return l'empreinte du graphe, calculée une seule fois
+     * @since 2013
+     * @see DistancierFichier
+     */
+    public long getEmpreinte() {
+        long h = empreinte;
+        if (h == 0) {
+            h = 0xcbf29ce484222325L;
+            h = melanger(h, nbNoeuds);
+            for (int o : offsets)
+                h = melanger(h, o);
+            for (int c : cibles)
+                h = melanger(h, c);
+            for (float p : getCoutsParcours())
+                h = melanger(h, Float.floatToIntBits(p));
+
+            if (h == 0)
+                h = 1;
+            empreinte = h;
+        }
+
+        return h;
+    }
+
+    private static long melanger(long h, int valeur) {
+        for (int i = 0; i < 4; i++) {
+            h ^= (valeur >>> (i * 8)) & 0xff;
+            h *= 0x100000001b3L;
+        }
+
+        return h;
+    }
+
+    /**
+     * <p>
+     * Retourne une représentation du graphe compact sous forme de {@link String}.
+     *
+     * @return le nombre de nœuds, d'arcs et les noms des coûts
+     * @since 2013
+     */
+    @Override
+    public String toString() {
+        return "GrapheCompact[" + nbNoeuds + " nœuds, " + cibles.length
+                + " arcs, couts=" + Arrays.toString(nomsCouts) + "]";
+    }
+}
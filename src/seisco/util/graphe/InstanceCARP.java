@@ -0,0 +1,260 @@
+package seisco.util.graphe;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * <p>
+ * Instance du CARP (« Capacitated Arc Routing Problem ») lue par
+ * {@link ChargeurCARP}, sous forme de tableaux primitifs.
+ *
+ * <p>
+ * Les nœuds sont numérotés de 0 à n-1 (le numéro du fichier moins un).
+ * Les arêtes sont non orientées ; les arêtes requises occupent les
+ * positions <code>0..getNbAretesRequises()-1</code>, les autres suivent.
+ *
+ * <p>
+ * {@link #toGrapheCompact()} et {@link #toGraphe()} produisent chacune des
+ * deux arcs <code>(u, v)</code> puis <code>(v, u)</code> par arête, dans le
+ * même ordre : leurs vues compactes sont identiques, et partagent donc la
+ * même empreinte (voir {@link DistancierFichier}).
+ *
+ * @version 2013
+ * @see ChargeurCARP#charger(java.io.File)
+ */
+public class InstanceCARP implements Serializable {
+
+    /**
+     * <p>Nom du {@link Cout} portant la demande d'une arête
+     */
+    public static final String NOM_COUT_DEMANDE = "demande";
+
+    private final String nom;
+    private final int nbNoeuds;
+    private final int depot;
+    private final int nbVehicules;
+    private final float capacite;
+    private final int nbAretesRequises;
+    private final int[] origines;
+    private final int[] destinations;
+    private final float[] couts;
+    private final float[] demandes;
+
+    /**
+     * <p>Instancie une instance à partir des tableaux lus
+     *
+     * @param nom le nom de l'instance
+     * @param nbNoeuds le nombre de nœuds
+     * @param depot l'indice du nœud dépôt
+     * @param nbVehicules le nombre de véhicules, ou <b>0</b> s'il n'est pas précisé
+     * @param capacite la capacité d'un véhicule
+     * @param nbAretesRequises le nombre d'arêtes requises, rangées en tête des tableaux
+     * @param origines le premier nœud de chaque arête
+     * @param destinations le second nœud de chaque arête
+     * @param couts le coût de parcours de chaque arête
+     * @param demandes la demande de chaque arête
+     * @since 2013
+     */
+    InstanceCARP(String nom, int nbNoeuds, int depot, int nbVehicules, float capacite, int nbAretesRequises,
+            int[] origines, int[] destinations, float[] couts, float[] demandes) {
+        this.nom = nom;
+        this.nbNoeuds = nbNoeuds;
+        this.depot = depot;
+        this.nbVehicules = nbVehicules;
+        this.capacite = capacite;
+        this.nbAretesRequises = nbAretesRequises;
+        this.origines = origines;
+        this.destinations = destinations;
+        this.couts = couts;
+        this.demandes = demandes;
+    }
+
+    /**
+     * <p>Retourne le nom de l'instance
+     *
+     * @return le nom lu dans le fichier
+     * @since 2013
+     */
+    public String getNom() {
+        return nom;
+    }
+
+    /**
+     * <p>Retourne le nombre de nœuds
+     *
+     * @return le nombre de nœuds
+     * @since 2013
+     */
+    public int getNbNoeuds() {
+        return nbNoeuds;
+    }
+
+    /**
+     * <p>Retourne l'indice du nœud dépôt
+     *
+     * @return l'indice du dépôt
+     * @since 2013
+     */
+    public int getDepot() {
+        return depot;
+    }
+
+    /**
+     * <p>Retourne le nombre de véhicules
+     *
+     * @return le nombre de véhicules, ou <b>0</b> s'il n'est pas précisé
+     * @since 2013
+     */
+    public int getNbVehicules() {
+        return nbVehicules;
+    }
+
+    /**
+     * <p>Retourne la capacité d'un véhicule
+     *
+     * @return la capacité
+     * @since 2013
+     */
+    public float getCapacite() {
+        return capacite;
+    }
+
+    /**
+     * <p>Retourne le nombre total d'arêtes
+     *
+     * @return le nombre d'arêtes requises et non requises
+     * @since 2013
+     */
+    public int getNbAretes() {
+        return origines.length;
+    }
+
+    /**
+     * <p>Retourne le nombre d'arêtes requises
+     *
+     * @return le nombre d'arêtes requises
+     * @since 2013
+     */
+    public int getNbAretesRequises() {
+        return nbAretesRequises;
+    }
+
+    /**
+     * <p>Retourne le premier nœud de chaque arête
+     *
+     * @return le tableau des origines, partagé
+     * @since 2013
+     */
+    public int[] getOrigines() {
+        return origines;
+    }
+
+    /**
+     * <p>Retourne le second nœud de chaque arête
+     *
+     * @return le tableau des destinations, partagé
+     * @since 2013
+     */
+    public int[] getDestinations() {
+        return destinations;
+    }
+
+    /**
+     * <p>Retourne le coût de parcours de chaque arête
+     *
+     * @return le tableau des coûts, partagé
+     * @since 2013
+     */
+    public float[] getCouts() {
+        return couts;
+    }
+
+    /**
+     * <p>Retourne la demande de chaque arête
+     *
+     * @return le tableau des demandes, partagé
+     * @since 2013
+     */
+    public float[] getDemandes() {
+        return demandes;
+    }
+
+    /**
+     * <p>
+     * Construit directement la vue compacte de l'instance, sans passer
+     * par les objets {@link Noeud} et {@link Arc}. L'arc <code>(u, v)</code>
+     * de l'arête <code>e</code> précède l'arc <code>(v, u)</code>.
+     *
+     * @return la vue compacte, avec les colonnes {@link Arc#NOM_COUT_PARCOURS}
+     *  et {@link #NOM_COUT_DEMANDE}
+     * @since 2013
+     */
+    public GrapheCompact toGrapheCompact() {
+        int m = origines.length;
+        int[] offsets = new int[nbNoeuds + 1];
+        for (int e = 0; e < m; e++) {
+            offsets[origines[e] + 1]++;
+            offsets[destinations[e] + 1]++;
+        }
+        for (int u = 0; u < nbNoeuds; u++)
+            offsets[u + 1] += offsets[u];
+
+        // Tri par dénombrement, stable dans l'ordre des arêtes
+        int[] positions = new int[nbNoeuds];
+        System.arraycopy(offsets, 0, positions, 0, nbNoeuds);
+        int[] cibles = new int[2 * m];
+        float[] parcours = new float[2 * m];
+        float[] demande = new float[2 * m];
+        for (int e = 0; e < m; e++) {
+            int k = positions[origines[e]]++;
+            cibles[k] = destinations[e];
+            parcours[k] = couts[e];
+            demande[k] = demandes[e];
+
+            k = positions[destinations[e]]++;
+            cibles[k] = origines[e];
+            parcours[k] = couts[e];
+            demande[k] = demandes[e];
+        }
+
+        return new GrapheCompact(offsets, cibles,
+                new String[] { Arc.NOM_COUT_PARCOURS, NOM_COUT_DEMANDE },
+                new float[][] { parcours, demande });
+    }
+
+    /**
+     * <p>
+     * Construit le {@link Graphe} objet de l'instance, pour le code
+     * qui manipule des {@link Noeud} et des {@link Arc}. Le nœud d'indice
+     * <code>i</code> porte le numéro <code>i</code>.
+     *
+     * @return le graphe de l'instance
+     * @since 2013
+     * @see Graphe#creerNoeud()
+     */
+    public Graphe toGraphe() {
+        Graphe graphe = new Graphe(nom);
+        for (int i = 0; i < nbNoeuds; i++)
+            graphe.creerNoeud();
+
+        List<Noeud> noeuds = graphe.getNoeuds();
+        for (int e = 0; e < origines.length; e++) {
+            Noeud u = noeuds.get(origines[e]), v = noeuds.get(destinations[e]);
+            ajouterCouts(graphe.creerArc(u, v), e);
+            ajouterCouts(graphe.creerArc(v, u), e);
+        }
+
+        return graphe;
+    }
+
+    private void ajouterCouts(Arc arc, int e) {
+        arc.ajouterCout(new Cout(Arc.NOM_COUT_PARCOURS, couts[e]));
+        arc.ajouterCout(new Cout(NOM_COUT_DEMANDE, demandes[e]));
+    }
+
+    @Override
+    public String toString() {
+        return "InstanceCARP[" + nom + ", " + nbNoeuds + " nœuds, " + nbAretesRequises + "/"
+                + origines.length + " arêtes requises, dépôt " + depot + ", capacité " + capacite + "]";
+    }
+}
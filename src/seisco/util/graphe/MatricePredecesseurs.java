@@ -0,0 +1,144 @@
+package seisco.util.graphe;
+
+/**
+ * <p>
+ * Matrice des prédécesseurs des plus courts chemins, calculée en même temps
+ * que le distancier par
+ * {@link Dijkstra#initialiserDistancier(seisco.util.graphe.GrapheCompact, seisco.util.graphe.MatricePredecesseurs)}.
+ *
+ * <p>
+ * <code>get(s, t)</code> est l'indice du nœud qui précède <code>t</code> sur
+ * le plus court chemin de <code>s</code> à <code>t</code>. Contrairement à
+ * {@link Dijkstra#getShortestPathTo(seisco.util.graphe.Noeud)}, les chemins
+ * de toutes les sources restent disponibles, et
+ * {@link #chemin(int, int, int[])} les reconstruit sans aucune allocation.
+ *
+ * <p>Les valeurs sont stockées ligne par ligne dans un unique tableau.
+ *
+ * @version 2013
+ */
+public class MatricePredecesseurs {
+
+    /**
+     * <p>Valeur indiquant l'absence de prédécesseur (source ou nœud inaccessible)
+     */
+    public static final int AUCUN = -1;
+
+    private final int nbNoeuds;
+    private final int[] predecesseurs;
+
+    /**
+     * <p>Instancie une matrice de prédécesseurs vide
+     *
+     * @param nbNoeuds le nombre de nœuds du graphe
+     * @throws IllegalArgumentException si les n × n prédécesseurs ne tiennent pas dans un tableau Java
+     * @since 2013
+     */
+    public MatricePredecesseurs(int nbNoeuds) {
+        this.nbNoeuds = nbNoeuds;
+        this.predecesseurs = new int[DistancierPlein.taille(nbNoeuds)];
+    }
+
+    /**
+     * <p>Retourne le nombre de nœuds de la matrice
+     *
+     * @return le nombre de lignes (et de colonnes) de la matrice
+     * @since 2013
+     */
+    public int getNbNoeuds() {
+        return nbNoeuds;
+    }
+
+    /**
+     * <p>Retourne le prédécesseur d'un nœud sur le plus court chemin depuis une source
+     *
+     * @param source l'indice du nœud source
+     * @param cible l'indice du nœud cible
+     * @return
+     *  <p> l'indice du nœud qui précède <code>cible</code>
+     *  <p> {@link #AUCUN} si <code>cible</code> est la source ou est inaccessible
+     * @since 2013
+     */
+    public int get(int source, int cible) {
+        return predecesseurs[DistancierPlein.indice(nbNoeuds, source, cible)];
+    }
+
+    /**
+     * <p>Remplace le prédécesseur d'un nœud sur le plus court chemin depuis une source
+     *
+     * @param source l'indice du nœud source
+     * @param cible l'indice du nœud cible
+     * @param predecesseur l'indice du nouveau prédécesseur, ou {@link #AUCUN}
+     * @since 2013
+     */
+    public void set(int source, int cible, int predecesseur) {
+        predecesseurs[DistancierPlein.indice(nbNoeuds, source, cible)] = predecesseur;
+    }
+
+    /**
+     * <p>Remplace toute la ligne d'une source
+     *
+     * @param source l'indice du nœud source
+     * @param ligne les prédécesseurs calculés depuis la source
+     * @since 2013
+     */
+    void setLigne(int source, int[] ligne) {
+        System.arraycopy(ligne, 0, predecesseurs, DistancierPlein.indice(nbNoeuds, source, 0), nbNoeuds);
+    }
+
+    /**
+     * <p>Retourne le nombre de nœuds du plus court chemin entre deux nœuds
+     *
+     * @param source l'indice du nœud source
+     * @param cible l'indice du nœud cible
+     * @return
+     *  <p> le nombre de nœuds du chemin, source et cible comprises
+     *  <p> <b>0</b> si la cible est inaccessible depuis la source
+     * @since 2013
+     * @see #chemin(int, int, int[])
+     */
+    public int longueurChemin(int source, int cible) {
+        int longueur = 1;
+        int base = DistancierPlein.indice(nbNoeuds, source, 0);
+
+        for (int noeud = cible; noeud != source; noeud = predecesseurs[base + noeud]) {
+            if (predecesseurs[base + noeud] == AUCUN)
+                return 0;
+            longueur++;
+        }
+
+        return longueur;
+    }
+
+    /**
+     * <p>
+     * Écrit le plus court chemin entre deux nœuds dans un tableau fourni
+     * par l'appelant, de la source à la cible, à partir de l'indice 0.
+     * Aucun objet n'est alloué.
+     *
+     * @param source l'indice du nœud source
+     * @param cible l'indice du nœud cible
+     * @param tampon le tableau recevant les indices des nœuds du chemin
+     * @return
+     *  <p> le nombre de nœuds écrits, source et cible comprises
+     *  <p> <b>0</b> si la cible est inaccessible depuis la source
+     * @throws IllegalArgumentException si le tampon est trop petit pour le chemin
+     * @since 2013
+     * @see #longueurChemin(int, int)
+     */
+    public int chemin(int source, int cible, int[] tampon) {
+        int longueur = longueurChemin(source, cible);
+        if (longueur > tampon.length)
+            throw new IllegalArgumentException("Tampon trop petit : " + tampon.length
+                    + " pour un chemin de " + longueur + " nœuds");
+
+        int base = DistancierPlein.indice(nbNoeuds, source, 0);
+        int noeud = cible;
+        for (int i = longueur - 1; i >= 0; i--) {
+            tampon[i] = noeud;
+            noeud = predecesseurs[base + noeud];
+        }
+
+        return longueur;
+    }
+}
@@ -15,7 +15,12 @@ import java.util.List;
  */
 public class Noeud implements Concept, Comparable<Noeud> {
     
-	private static int lastNum = 1;
+    /**
+     * <p>
+     * Numérotation commune aux nœuds créés sans {@link Graphe}
+     * (voir {@link #Noeud()}), à partir de 1.
+     */
+	private static final AllocateurIds NUMEROTATION = new AllocateurIds(1);
     private int numero;
     
     /**
@@ -53,13 +58,27 @@ public class Noeud implements Concept, Comparable<Noeud> {
 	protected Noeud precedent;
 
     /**
-     * <p>Instancie un nouveau nœud
+     * <p>
+     * Instancie un nouveau nœud, numéroté par la numérotation
+     * commune à toute la JVM.
      * 
      * @since 2012
+     * @see Graphe#creerNoeud()
      */
     public Noeud() {
+        this(NUMEROTATION);
+    }
+
+    /**
+     * <p>Instancie un nouveau nœud numéroté par l'allocateur fourni
+     * 
+     * @param allocateur l'allocateur des numéros de nœuds du graphe
+     * @since 2013
+     * @see Graphe#creerNoeud()
+     */
+    public Noeud(AllocateurIds allocateur) {
         super();
-        this.numero = lastNum++;
+        this.numero = allocateur.suivant();
 		this.adjacents = new ArrayList<Arc>();
     }
 
@@ -97,6 +116,7 @@ public class Noeud implements Concept, Comparable<Noeud> {
      *      l'{@link Arc} est déjà dans les adjacents.
      * @since 2012
      * @see #adjacents
+     * @see ConstructeurGraphe pour construire un graphe sans parcourir les adjacents à chaque ajout
      */
 	public boolean addAdjacent(Arc a) {
 		if(!adjacents.contains(a))
@@ -161,8 +181,12 @@ public class Noeud implements Concept, Comparable<Noeud> {
          * Remise à zéro du comptage des noeuds
          * 
          * @since 2012
+         * @deprecated
+         *  la numérotation commune est partagée par tous les graphes de la JVM ;
+         *  utiliser {@link Graphe#creerNoeud()}, numéroté par graphe à partir de 0
          */
+        @Deprecated
         public static void init() {
-            lastNum = 1;
+            NUMEROTATION.reinitialiser(1);
         }
 }
@@ -0,0 +1,109 @@
+package seisco.util.graphe;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Découpage des nœuds d'un {@link GrapheCompact} en k régions,
+ * calculé par {@link Partitionneur}.
+ *
+ * <p>
+ * Chaque région peut être confiée à un couple AMC/AME différent
+ * (voir {@link seisco.probleme.Probleme#decomposer(seisco.util.graphe.Partition)}).
+ *
+ * @version 2013
+ */
+public class Partition implements Serializable {
+
+    private final int nbRegions;
+    private final int[] regions;
+    private final int coupe;
+
+    /**
+     * <p>Instancie une partition
+     *
+     * @param nbRegions le nombre de régions
+     * @param regions la région de chaque nœud
+     * @param coupe le nombre d'arcs reliant deux régions différentes
+     * @since 2013
+     */
+    Partition(int nbRegions, int[] regions, int coupe) {
+        this.nbRegions = nbRegions;
+        this.regions = regions;
+        this.coupe = coupe;
+    }
+
+    /**
+     * <p>Retourne le nombre de régions
+     *
+     * @return le nombre de régions
+     * @since 2013
+     */
+    public int getNbRegions() {
+        return nbRegions;
+    }
+
+    /**
+     * <p>Retourne la région d'un nœud
+     *
+     * @param noeud l'indice du nœud
+     * @return la région du nœud, entre 0 et k-1
+     * @since 2013
+     */
+    public int getRegion(int noeud) {
+        return regions[noeud];
+    }
+
+    /**
+     * <p>Retourne le nombre d'arcs reliant deux régions différentes
+     *
+     * @return le nombre d'arcs coupés
+     * @since 2013
+     */
+    public int getCoupe() {
+        return coupe;
+    }
+
+    /**
+     * <p>Retourne le nombre de nœuds d'une région
+     *
+     * @param region la région
+     * @return le nombre de nœuds de la région
+     * @since 2013
+     */
+    public int getTaille(int region) {
+        int taille = 0;
+        for (int r : regions)
+            if (r == region)
+                taille++;
+
+        return taille;
+    }
+
+    /**
+     * <p>Retourne les nœuds d'une région
+     *
+     * @param region la région
+     * @return les indices des nœuds de la région, par ordre croissant
+     * @since 2013
+     */
+    public int[] getNoeuds(int region) {
+        int[] noeuds = new int[getTaille(region)];
+        int i = 0;
+        for (int u = 0; u < regions.length; u++)
+            if (regions[u] == region)
+                noeuds[i++] = u;
+
+        return noeuds;
+    }
+
+    @Override
+    public String toString() {
+        int[] tailles = new int[nbRegions];
+        for (int r : regions)
+            tailles[r]++;
+
+        return "Partition[" + nbRegions + " régions " + Arrays.toString(tailles) + ", coupe " + coupe + "]";
+    }
+}
@@ -0,0 +1,484 @@
+package seisco.util.graphe;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Découpe un {@link GrapheCompact} en k régions de tailles équilibrées
+ * en coupant le moins d'arcs possible, afin de répartir une grande
+ * instance entre plusieurs AMC.
+ *
+ * <p>
+ * Le découpage procède par bissections récursives multiniveaux :
+ * <ol>
+ *  <li>le graphe est contracté niveau par niveau en fusionnant chaque nœud
+ *      avec le voisin auquel il est le plus lié, jusqu'à une centaine de nœuds ;</li>
+ *  <li>le plus petit graphe est coupé en deux par croissance en largeur
+ *      depuis un nœud périphérique ;</li>
+ *  <li>la coupe est reportée niveau par niveau vers le graphe d'origine, et
+ *      améliorée à chaque niveau par des passes de Fiduccia-Mattheyses :
+ *      les nœuds changent de côté par gain décroissant, dans la limite du
+ *      déséquilibre toléré, et seul le meilleur préfixe de chaque passe est
+ *      conservé.</li>
+ * </ol>
+ *
+ * <p>Le sens des arcs est ignoré : une région est un ensemble de nœuds voisins.
+ *
+ * @version 2013
+ * @see Partition
+ */
+public class Partitionneur {
+
+    /**
+     * <p>Écart toléré entre la taille de chaque moitié et sa taille cible, en proportion de la plus petite
+     */
+    public static final double DESEQUILIBRE = 0.03;
+
+    /**
+     * <p>Nombre maximum de passes d'amélioration par niveau
+     */
+    public static final int NB_PASSES_MAX = 8;
+
+    /**
+     * <p>Nombre de nœuds en dessous duquel le graphe n'est plus contracté
+     */
+    private static final int TAILLE_GROSSIERE = 100;
+
+    private final GrapheCompact graphe;
+    private final int[] regions;
+
+    /* Position de chaque nœud du graphe dans le sous-graphe en cours de bissection */
+    private final int[] locaux;
+
+    private Partitionneur(GrapheCompact graphe) {
+        this.graphe = graphe;
+        this.regions = new int[graphe.getNbNoeuds()];
+        this.locaux = new int[graphe.getNbNoeuds()];
+        Arrays.fill(locaux, -1);
+    }
+
+    /**
+     * <p>Découpe un graphe en régions
+     *
+     * @param graphe la vue compacte du graphe
+     * @param nbRegions le nombre de régions souhaité
+     * @return la partition des nœuds du graphe
+     * @throws IllegalArgumentException si le nombre de régions n'est pas strictement positif
+     * @since 2013
+     */
+    public static Partition partitionner(GrapheCompact graphe, int nbRegions) {
+        if (nbRegions <= 0)
+            throw new IllegalArgumentException("Nombre de régions invalide : " + nbRegions);
+
+        Partitionneur p = new Partitionneur(graphe);
+        int n = graphe.getNbNoeuds();
+        int[] noeuds = new int[n];
+        for (int u = 0; u < n; u++)
+            noeuds[u] = u;
+
+        p.decouper(noeuds, nbRegions, 0);
+        return new Partition(nbRegions, p.regions, p.coupe());
+    }
+
+    private void decouper(int[] noeuds, int nbRegions, int premiereRegion) {
+        if (nbRegions == 1 || noeuds.length <= 1) {
+            for (int u : noeuds)
+                regions[u] = premiereRegion;
+            return;
+        }
+
+        int nbRegionsGauche = nbRegions / 2;
+        int cible = (int) Math.round((double) noeuds.length * nbRegionsGauche / nbRegions);
+        int[] cotes = bisecter(Niveau.induit(graphe, noeuds, locaux), cible);
+
+        int taille = 0;
+        for (int c : cotes)
+            if (c == 0)
+                taille++;
+
+        int[] gauche = new int[taille], droite = new int[noeuds.length - taille];
+        int g = 0, d = 0;
+        for (int i = 0; i < noeuds.length; i++) {
+            if (cotes[i] == 0)
+                gauche[g++] = noeuds[i];
+            else
+                droite[d++] = noeuds[i];
+        }
+
+        decouper(gauche, nbRegionsGauche, premiereRegion);
+        decouper(droite, nbRegions - nbRegionsGauche, premiereRegion + nbRegionsGauche);
+    }
+
+    /**
+     * <p>Coupe un niveau en deux côtés, le côté 0 pesant environ <code>cible</code>
+     *
+     * @return le côté de chaque nœud du niveau
+     */
+    private static int[] bisecter(Niveau niveau, int cible) {
+        int[] cotes;
+        Niveau grossier = (niveau.n > TAILLE_GROSSIERE) ? niveau.contracter() : null;
+
+        if (grossier != null) {
+            // Report de la coupe du niveau contracté
+            int[] cotesGrossiers = bisecter(grossier, cible);
+            cotes = new int[niveau.n];
+            for (int u = 0; u < niveau.n; u++)
+                cotes[u] = cotesGrossiers[niveau.grossiers[u]];
+        } else {
+            cotes = niveau.croitre(cible);
+        }
+
+        int tolerance = Math.max(niveau.poidsMax,
+                (int) (Math.min(cible, niveau.poidsTotal - cible) * DESEQUILIBRE));
+        FileGains gains = new FileGains(niveau.n);
+        for (int passe = 0; passe < NB_PASSES_MAX; passe++)
+            if (!niveau.ameliorer(cotes, cible, tolerance, gains))
+                break;
+
+        return cotes;
+    }
+
+    private int coupe() {
+        int[] cibles = graphe.getCibles();
+        int coupe = 0;
+        for (int u = 0; u < graphe.getNbNoeuds(); u++)
+            for (int k = graphe.debut(u); k < graphe.fin(u); k++)
+                if (regions[cibles[k]] != regions[u])
+                    coupe++;
+
+        return coupe;
+    }
+
+    /**
+     * <p>
+     * Graphe non orienté pondéré : le poids d'un nœud est le nombre de nœuds
+     * d'origine qu'il représente, le poids d'une arête le nombre d'arcs
+     * d'origine qui la composent.
+     */
+    private static class Niveau {
+        final int n;
+        final int[] debuts;
+        final int[] voisins;
+        final int[] poids;
+        final int[] poidsNoeuds;
+        final int poidsTotal;
+        final int poidsMax;
+
+        /* Nœud du niveau contracté représentant chaque nœud, rempli par contracter() */
+        int[] grossiers;
+
+        Niveau(int[] debuts, int[] voisins, int[] poids, int[] poidsNoeuds) {
+            this.n = poidsNoeuds.length;
+            this.debuts = debuts;
+            this.voisins = voisins;
+            this.poids = poids;
+            this.poidsNoeuds = poidsNoeuds;
+
+            int total = 0, max = 0;
+            for (int p : poidsNoeuds) {
+                total += p;
+                max = Math.max(max, p);
+            }
+            this.poidsTotal = total;
+            this.poidsMax = max;
+        }
+
+        /**
+         * <p>Sous-graphe induit par des nœuds, arcs sortants et entrants confondus
+         */
+        static Niveau induit(GrapheCompact graphe, int[] noeuds, int[] locaux) {
+            GrapheCompact inverse = graphe.inverse();
+            int[] cibles = graphe.getCibles(), sources = inverse.getCibles();
+            int n = noeuds.length;
+            for (int i = 0; i < n; i++)
+                locaux[noeuds[i]] = i;
+
+            int nbVoisins = 0;
+            for (int u : noeuds)
+                nbVoisins += (graphe.fin(u) - graphe.debut(u)) + (inverse.fin(u) - inverse.debut(u));
+
+            int[] debuts = new int[n + 1];
+            int[] voisins = new int[nbVoisins];
+            int k = 0;
+            for (int i = 0; i < n; i++) {
+                int u = noeuds[i];
+                debuts[i] = k;
+                for (int a = graphe.debut(u); a < graphe.fin(u); a++) {
+                    int v = locaux[cibles[a]];
+                    if (v >= 0 && v != i)
+                        voisins[k++] = v;
+                }
+                for (int a = inverse.debut(u); a < inverse.fin(u); a++) {
+                    int v = locaux[sources[a]];
+                    if (v >= 0 && v != i)
+                        voisins[k++] = v;
+                }
+            }
+            debuts[n] = k;
+
+            for (int u : noeuds)
+                locaux[u] = -1;
+
+            int[] poids = new int[k];
+            Arrays.fill(poids, 1);
+            int[] poidsNoeuds = new int[n];
+            Arrays.fill(poidsNoeuds, 1);
+
+            return new Niveau(debuts, voisins, poids, poidsNoeuds).fusionnerDoublons();
+        }
+
+        /**
+         * <p>Regroupe les arêtes répétées entre deux mêmes nœuds en sommant leurs poids
+         */
+        Niveau fusionnerDoublons() {
+            int[] position = new int[n];
+            Arrays.fill(position, -1);
+            int[] nouveauxDebuts = new int[n + 1];
+            int[] nouveauxVoisins = new int[debuts[n]];
+            int[] nouveauxPoids = new int[debuts[n]];
+
+            int k = 0;
+            for (int u = 0; u < n; u++) {
+                nouveauxDebuts[u] = k;
+                for (int a = debuts[u]; a < debuts[u + 1]; a++) {
+                    int v = voisins[a];
+                    if (position[v] >= nouveauxDebuts[u]) {
+                        nouveauxPoids[position[v]] += poids[a];
+                    } else {
+                        position[v] = k;
+                        nouveauxVoisins[k] = v;
+                        nouveauxPoids[k++] = poids[a];
+                    }
+                }
+            }
+            nouveauxDebuts[n] = k;
+
+            return new Niveau(nouveauxDebuts, Arrays.copyOf(nouveauxVoisins, k),
+                    Arrays.copyOf(nouveauxPoids, k), poidsNoeuds);
+        }
+
+        /**
+         * <p>
+         * Contracte le niveau en appariant chaque nœud au voisin libre auquel il
+         * est le plus lié.
+         *
+         * @return le niveau contracté, ou <b>null</b> s'il ne réduit pas assez la taille
+         */
+        Niveau contracter() {
+            grossiers = new int[n];
+            Arrays.fill(grossiers, -1);
+
+            int m = 0;
+            for (int u = 0; u < n; u++) {
+                if (grossiers[u] >= 0)
+                    continue;
+
+                int meilleur = -1, poidsMeilleur = 0;
+                for (int a = debuts[u]; a < debuts[u + 1]; a++) {
+                    int v = voisins[a];
+                    if (grossiers[v] < 0 && v != u && poids[a] > poidsMeilleur) {
+                        meilleur = v;
+                        poidsMeilleur = poids[a];
+                    }
+                }
+
+                grossiers[u] = m;
+                if (meilleur >= 0)
+                    grossiers[meilleur] = m;
+                m++;
+            }
+
+            if (m > n * 0.9) {
+                grossiers = null;
+                return null;
+            }
+
+            // Arêtes du niveau contracté, les arêtes internes à une paire disparaissant
+            int[] poidsNoeudsGrossiers = new int[m];
+            int[] debutsGrossiers = new int[m + 1];
+            for (int u = 0; u < n; u++) {
+                poidsNoeudsGrossiers[grossiers[u]] += poidsNoeuds[u];
+                debutsGrossiers[grossiers[u] + 1] += debuts[u + 1] - debuts[u];
+            }
+            for (int c = 0; c < m; c++)
+                debutsGrossiers[c + 1] += debutsGrossiers[c];
+
+            int[] positions = Arrays.copyOf(debutsGrossiers, m);
+            int[] voisinsGrossiers = new int[debutsGrossiers[m]];
+            int[] poidsGrossiers = new int[debutsGrossiers[m]];
+            for (int u = 0; u < n; u++) {
+                int c = grossiers[u];
+                for (int a = debuts[u]; a < debuts[u + 1]; a++) {
+                    int d = grossiers[voisins[a]];
+                    if (d != c) {
+                        voisinsGrossiers[positions[c]] = d;
+                        poidsGrossiers[positions[c]++] = poids[a];
+                    }
+                }
+            }
+
+            // Resserre les listes sur leur partie remplie
+            int k = 0;
+            for (int c = 0; c < m; c++) {
+                int debut = debutsGrossiers[c];
+                debutsGrossiers[c] = k;
+                for (int a = debut; a < positions[c]; a++) {
+                    voisinsGrossiers[k] = voisinsGrossiers[a];
+                    poidsGrossiers[k++] = poidsGrossiers[a];
+                }
+            }
+            debutsGrossiers[m] = k;
+
+            return new Niveau(debutsGrossiers, voisinsGrossiers, poidsGrossiers, poidsNoeudsGrossiers)
+                    .fusionnerDoublons();
+        }
+
+        /**
+         * <p>
+         * Place du côté 0 les nœuds atteints par un parcours en largeur depuis
+         * un nœud périphérique, jusqu'à atteindre le poids cible
+         */
+        int[] croitre(int cible) {
+            int[] cotes = new int[n];
+            Arrays.fill(cotes, 1);
+            if (n == 0)
+                return cotes;
+
+            int[] file = new int[n];
+            boolean[] vus = new boolean[n];
+
+            // Nœud périphérique : le dernier atteint depuis le nœud 0
+            int tete = 0, queue = 0;
+            file[queue++] = 0;
+            vus[0] = true;
+            while (tete < queue)
+                queue = enfilerVoisins(file[tete++], file, queue, vus);
+            int depart = file[queue - 1];
+
+            // Croissance, relancée depuis un nœud non atteint si la composante ne suffit pas
+            Arrays.fill(vus, false);
+            int poids0 = 0, suivant = 0;
+            tete = 0;
+            queue = 0;
+            while (poids0 < cible && (tete < queue || queue < n)) {
+                if (tete == queue) {
+                    int u = (queue == 0) ? depart : suivant;
+                    while (vus[u])
+                        u = ++suivant;
+                    file[queue++] = u;
+                    vus[u] = true;
+                }
+
+                int u = file[tete++];
+                cotes[u] = 0;
+                poids0 += poidsNoeuds[u];
+                queue = enfilerVoisins(u, file, queue, vus);
+            }
+
+            return cotes;
+        }
+
+        private int enfilerVoisins(int u, int[] file, int queue, boolean[] vus) {
+            for (int a = debuts[u]; a < debuts[u + 1]; a++) {
+                int v = voisins[a];
+                if (!vus[v]) {
+                    vus[v] = true;
+                    file[queue++] = v;
+                }
+            }
+
+            return queue;
+        }
+
+        /**
+         * <p>
+         * Effectue une passe de Fiduccia-Mattheyses. Un état est meilleur
+         * s'il respecte la tolérance (ou s'en approche), puis s'il coupe
+         * moins, puis s'il est mieux équilibré.
+         *
+         * @return <b>true</b> si la passe a réduit la coupe ou amélioré l'équilibre
+         */
+        boolean ameliorer(int[] cotes, int cible, int tolerance, FileGains gains) {
+            int poids0 = 0;
+            for (int u = 0; u < n; u++)
+                if (cotes[u] == 0)
+                    poids0 += poidsNoeuds[u];
+
+            gains.tas.vider();
+            for (int u = 0; u < n; u++)
+                gains.tas.insererOuDiminuer(u, -gain(u, cotes));
+
+            int meilleurEcart = Math.abs(poids0 - cible);
+            int nbDeplaces = 0, meilleurNb = 0;
+            int gainCumule = 0, meilleurGain = 0;
+            int patience = 50 + n / 20;
+
+            while (!gains.tas.estVide() && nbDeplaces - meilleurNb < patience) {
+                int gain = (int) -gains.tas.cleMin();
+                int u = gains.tas.extraireMin();
+                int nouveauPoids = (cotes[u] == 0) ? poids0 - poidsNoeuds[u] : poids0 + poidsNoeuds[u];
+                int ecart = Math.abs(nouveauPoids - cible);
+                if (ecart > tolerance && ecart >= Math.abs(poids0 - cible))
+                    continue;
+
+                cotes[u] = 1 - cotes[u];
+                poids0 = nouveauPoids;
+                gains.deplaces[nbDeplaces++] = u;
+                gainCumule += gain;
+
+                if (estMeilleur(ecart, gainCumule, meilleurEcart, meilleurGain, tolerance)) {
+                    meilleurEcart = ecart;
+                    meilleurGain = gainCumule;
+                    meilleurNb = nbDeplaces;
+                }
+
+                // Un voisin du même côté gagne moins à partir, un voisin de l'autre côté davantage
+                for (int a = debuts[u]; a < debuts[u + 1]; a++) {
+                    int v = voisins[a];
+                    if (gains.tas.contient(v))
+                        gains.tas.modifierCle(v, gains.tas.cle(v) + ((cotes[v] == cotes[u]) ? 2 : -2) * poids[a]);
+                }
+            }
+
+            for (int i = nbDeplaces - 1; i >= meilleurNb; i--)
+                cotes[gains.deplaces[i]] = 1 - cotes[gains.deplaces[i]];
+
+            return meilleurNb > 0;
+        }
+
+        private static boolean estMeilleur(int ecart, int gain, int meilleurEcart, int meilleurGain, int tolerance) {
+            int horsTolerance = Math.max(0, ecart - tolerance);
+            int meilleurHorsTolerance = Math.max(0, meilleurEcart - tolerance);
+            if (horsTolerance != meilleurHorsTolerance)
+                return horsTolerance < meilleurHorsTolerance;
+            if (gain != meilleurGain)
+                return gain > meilleurGain;
+
+            return ecart < meilleurEcart;
+        }
+
+        /**
+         * <p>Poids des arêtes coupées en moins si le nœud change de côté
+         */
+        private int gain(int u, int[] cotes) {
+            int gain = 0;
+            for (int a = debuts[u]; a < debuts[u + 1]; a++)
+                gain += (cotes[voisins[a]] != cotes[u]) ? poids[a] : -poids[a];
+
+            return gain;
+        }
+    }
+
+    /**
+     * <p>Tas des gains et mémoire des déplacements, réutilisés d'une passe à l'autre
+     */
+    private static class FileGains {
+        final TasIndexe tas;
+        final int[] deplaces;
+
+        FileGains(int n) {
+            this.tas = new TasIndexe(n);
+            this.deplaces = new int[n];
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package seisco.util.graphe;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * Associe à chaque nom de {@link Cout} (ou de {@link seisco.util.Propriete})
+ * d'un {@link Graphe} un petit identifiant entier, attribué dans l'ordre
+ * d'apparition à partir de 0.
+ *
+ * <p>
+ * Les {@link Arc} indexés par un registre rangent leurs coûts et leurs
+ * propriétés à la position de leur identifiant : les retrouver devient une
+ * simple lecture de tableau (voir {@link Arc#getCout(int)}), et les colonnes
+ * de {@link GrapheCompact} suivent la même numérotation.
+ *
+ * <p>Les lectures sont sans verrou ; l'attribution d'un nouvel identifiant est synchronisée.
+ *
+ * @version 2013
+ * @see Graphe#getRegistreCouts()
+ * @see Graphe#getRegistreProprietes()
+ */
+public class RegistreNoms implements Serializable {
+
+    private final ConcurrentHashMap<String, Integer> identifiants;
+    private volatile String[] noms;
+
+    /**
+     * <p>Instancie un registre vide
+     *
+     * @since 2013
+     */
+    public RegistreNoms() {
+        this.identifiants = new ConcurrentHashMap<String, Integer>();
+        this.noms = new String[0];
+    }
+
+    /**
+     * <p>Retourne l'identifiant d'un nom, en lui en attribuant un s'il n'en a pas encore
+     *
+     * @param nom le nom à enregistrer
+     * @return l'identifiant du nom
+     * @since 2013
+     */
+    public int id(String nom) {
+        Integer id = identifiants.get(nom);
+        if (id != null)
+            return id;
+
+        synchronized (this) {
+            id = identifiants.get(nom);
+            if (id == null) {
+                String[] nouveaux = Arrays.copyOf(noms, noms.length + 1);
+                id = noms.length;
+                nouveaux[id] = nom;
+                noms = nouveaux;
+                identifiants.put(nom, id);
+            }
+
+            return id;
+        }
+    }
+
+    /**
+     * <p>Retourne l'identifiant d'un nom déjà enregistré
+     *
+     * @param nom le nom recherché
+     * @return
+     *  <p> l'identifiant du nom
+     *  <p> <b>-1</b> si le nom n'est pas enregistré
+     * @since 2013
+     */
+    public int chercher(String nom) {
+        Integer id = identifiants.get(nom);
+        return (id == null) ? -1 : id;
+    }
+
+    /**
+     * <p>Retourne le nom correspondant à un identifiant
+     *
+     * @param id l'identifiant
+     * @return le nom enregistré sous cet identifiant
+     * @since 2013
+     */
+    public String nom(int id) {
+        return noms[id];
+    }
+
+    /**
+     * <p>Retourne le nombre de noms enregistrés
+     *
+     * @return le nombre de noms, qui est aussi le prochain identifiant attribué
+     * @since 2013
+     */
+    public int taille() {
+        return noms.length;
+    }
+
+    /**
+     * <p>Retourne la représentation du registre sous forme de {@link String}
+     *
+     * @return les noms enregistrés, dans l'ordre de leurs identifiants
+     * @since 2013
+     */
+    @Override
+    public String toString() {
+        return "RegistreNoms" + Arrays.toString(noms);
+    }
+}
@@ -0,0 +1,239 @@
+package seisco.util.graphe;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Calcule à la demande la distance entre deux nœuds d'un {@link GrapheCompact},
+ * sans distancier complet : mémoire en O(n) au lieu de O(n²).
+ *
+ * <p>Deux algorithmes sont proposés :
+ * <ul>
+ *  <li>{@link #distanceBidirectionnelle(int, int)} : Dijkstra lancé à la fois
+ *      depuis la source sur le graphe et depuis la cible sur le graphe inverse,
+ *      arrêté dès que les deux recherches se rejoignent ;</li>
+ *  <li>{@link #distanceALT(int, int)} : A* guidé par les bornes inférieures
+ *      d'une {@link TableReperes}, qui n'explore qu'une petite partie du graphe.</li>
+ * </ul>
+ *
+ * <p>
+ * Les tableaux de travail sont alloués une fois pour toutes ; un numéro de
+ * requête évite de les réinitialiser entre deux appels. Une instance n'est
+ * pas thread-safe : chaque tâche de calcul utilise la sienne.
+ *
+ * @version 2013
+ * @see Dijkstra#computePaths(seisco.util.graphe.GrapheCompact, int, float[], int[])
+ */
+public class RequetePointAPoint {
+
+    private final GrapheCompact graphe;
+    private final GrapheCompact inverse;
+    private final TableReperes reperes;
+
+    private final float[] distancesAvant;
+    private final float[] distancesArriere;
+    private final int[] visiteAvant;
+    private final int[] visiteArriere;
+    private final TasIndexe tasAvant;
+    private final TasIndexe tasArriere;
+    private int requete;
+
+    /**
+     * <p>Instancie les requêtes sur un graphe, sans table de repères
+     *
+     * @param graphe la vue compacte du graphe
+     * @since 2013
+     */
+    public RequetePointAPoint(GrapheCompact graphe) {
+        this(graphe, null);
+    }
+
+    /**
+     * <p>Instancie les requêtes sur un graphe
+     *
+     * @param graphe la vue compacte du graphe
+     * @param reperes la table de repères du graphe, ou <b>null</b>
+     * @since 2013
+     */
+    public RequetePointAPoint(GrapheCompact graphe, TableReperes reperes) {
+        int n = graphe.getNbNoeuds();
+
+        this.graphe = graphe;
+        this.inverse = graphe.inverse();
+        this.reperes = reperes;
+        this.distancesAvant = new float[n];
+        this.distancesArriere = new float[n];
+        this.visiteAvant = new int[n];
+        this.visiteArriere = new int[n];
+        this.tasAvant = new TasIndexe(n);
+        this.tasArriere = new TasIndexe(n);
+        this.requete = 0;
+    }
+
+    /**
+     * <p>Retourne la vue compacte interrogée
+     *
+     * @return la vue compacte du graphe
+     * @since 2013
+     */
+    public GrapheCompact getGraphe() {
+        return graphe;
+    }
+
+    /**
+     * <p>Retourne la table de repères utilisée par {@link #distanceALT(int, int)}
+     *
+     * @return la table de repères, ou <b>null</b>
+     * @since 2013
+     */
+    public TableReperes getReperes() {
+        return reperes;
+    }
+
+    /**
+     * <p>
+     * Retourne la distance entre deux nœuds, par A* si une table de repères
+     * est disponible, par Dijkstra bidirectionnel sinon.
+     *
+     * @param source l'indice du nœud de départ
+     * @param cible l'indice du nœud d'arrivée
+     * @return la distance, ou {@link Float#POSITIVE_INFINITY} si la cible est inaccessible
+     * @since 2013
+     */
+    public float distance(int source, int cible) {
+        return (reperes != null) ? distanceALT(source, cible) : distanceBidirectionnelle(source, cible);
+    }
+
+    /**
+     * <p>Retourne la distance entre deux nœuds par Dijkstra bidirectionnel
+     *
+     * @param source l'indice du nœud de départ
+     * @param cible l'indice du nœud d'arrivée
+     * @return la distance, ou {@link Float#POSITIVE_INFINITY} si la cible est inaccessible
+     * @since 2013
+     */
+    public float distanceBidirectionnelle(int source, int cible) {
+        if (source == cible)
+            return 0;
+
+        int numero = nouvelleRequete();
+        tasAvant.vider();
+        tasArriere.vider();
+
+        atteindre(distancesAvant, visiteAvant, tasAvant, source, 0, numero);
+        atteindre(distancesArriere, visiteArriere, tasArriere, cible, 0, numero);
+
+        float meilleure = Float.POSITIVE_INFINITY;
+
+        // Arrêt dès qu'aucun chemin plus court ne peut passer par les deux frontières
+        while (!tasAvant.estVide() && !tasArriere.estVide()
+                && tasAvant.cleMin() + tasArriere.cleMin() < meilleure) {
+            if (tasAvant.taille() <= tasArriere.taille())
+                meilleure = avancer(graphe, distancesAvant, visiteAvant, tasAvant,
+                        distancesArriere, visiteArriere, numero, meilleure);
+            else
+                meilleure = avancer(inverse, distancesArriere, visiteArriere, tasArriere,
+                        distancesAvant, visiteAvant, numero, meilleure);
+        }
+
+        return meilleure;
+    }
+
+    /**
+     * <p>
+     * Retourne la distance entre deux nœuds par A* guidé par la table de repères.
+     * La borne étant cohérente, chaque nœud n'est fixé qu'une fois et la recherche
+     * s'arrête dès que la cible est extraite du tas.
+     *
+     * @param source l'indice du nœud de départ
+     * @param cible l'indice du nœud d'arrivée
+     * @return la distance, ou {@link Float#POSITIVE_INFINITY} si la cible est inaccessible
+     * @throws IllegalStateException si aucune table de repères n'a été fournie
+     * @since 2013
+     */
+    public float distanceALT(int source, int cible) {
+        if (reperes == null)
+            throw new IllegalStateException("Aucune table de repères");
+        if (source == cible)
+            return 0;
+
+        int numero = nouvelleRequete();
+        int[] cibles = graphe.getCibles();
+        float[] poids = graphe.getCoutsParcours();
+        tasAvant.vider();
+
+        atteindre(distancesAvant, visiteAvant, tasAvant, source, reperes.borneInferieure(source, cible), numero);
+        distancesAvant[source] = 0;
+
+        while (!tasAvant.estVide()) {
+            int u = tasAvant.extraireMin();
+            if (u == cible)
+                return distancesAvant[u];
+
+            float du = distancesAvant[u];
+            for (int k = graphe.debut(u); k < graphe.fin(u); k++) {
+                int v = cibles[k];
+                float dv = du + poids[k];
+
+                if (visiteAvant[v] != numero) {
+                    atteindre(distancesAvant, visiteAvant, tasAvant, v, dv + reperes.borneInferieure(v, cible), numero);
+                    distancesAvant[v] = dv;
+                } else if (dv < distancesAvant[v] && tasAvant.contient(v)) {
+                    distancesAvant[v] = dv;
+                    tasAvant.insererOuDiminuer(v, dv + reperes.borneInferieure(v, cible));
+                }
+            }
+        }
+
+        return Float.POSITIVE_INFINITY;
+    }
+
+    private int nouvelleRequete() {
+        if (++requete == 0) {
+            // Débordement : les anciens numéros ne doivent pas être confondus
+            Arrays.fill(visiteAvant, 0);
+            Arrays.fill(visiteArriere, 0);
+            requete = 1;
+        }
+        return requete;
+    }
+
+    private static void atteindre(float[] distances, int[] visite, TasIndexe tas, int v, float cle, int numero) {
+        visite[v] = numero;
+        distances[v] = cle;
+        tas.insererOuDiminuer(v, cle);
+    }
+
+    /**
+     * <p>
+     * Fixe le nœud le plus proche d'une des deux recherches et relâche ses arcs.
+     * Un nœud déjà atteint par l'autre recherche fournit un chemin candidat.
+     */
+    private static float avancer(GrapheCompact g, float[] distances, int[] visite, TasIndexe tas,
+            float[] distancesOpposees, int[] visiteOpposee, int numero, float meilleure) {
+        int[] cibles = g.getCibles();
+        float[] poids = g.getCoutsParcours();
+
+        int u = tas.extraireMin();
+        float du = distances[u];
+
+        for (int k = g.debut(u); k < g.fin(u); k++) {
+            int v = cibles[k];
+            float dv = du + poids[k];
+
+            if (visite[v] != numero) {
+                atteindre(distances, visite, tas, v, dv, numero);
+            } else if (dv < distances[v] && tas.contient(v)) {
+                distances[v] = dv;
+                tas.insererOuDiminuer(v, dv);
+            } else {
+                continue;
+            }
+
+            if (visiteOpposee[v] == numero && dv + distancesOpposees[v] < meilleure)
+                meilleure = dv + distancesOpposees[v];
+        }
+
+        return meilleure;
+    }
+}
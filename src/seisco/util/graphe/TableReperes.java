@@ -0,0 +1,134 @@
+package seisco.util.graphe;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Table de repères (« landmarks ») pour les requêtes A* de type ALT
+ * (A*, Landmarks, Triangle inequality).
+ *
+ * <p>
+ * Pour chaque repère <code>L</code>, la table conserve les distances
+ * <code>d(L, v)</code> et <code>d(v, L)</code> vers et depuis tous les nœuds.
+ * L'inégalité triangulaire donne alors une borne inférieure de
+ * <code>d(v, t)</code> :
+ * <code>max(d(L, t) - d(L, v), d(v, L) - d(t, L))</code>.
+ * La table occupe 2 × k × n <code>float</code>, au lieu des n² d'un
+ * distancier complet.
+ *
+ * @version 2013
+ * @see RequetePointAPoint#distanceALT(int, int)
+ */
+public class TableReperes {
+
+    private final int[] reperes;
+    private final float[][] depuisRepere;
+    private final float[][] versRepere;
+
+    private TableReperes(int[] reperes, float[][] depuisRepere, float[][] versRepere) {
+        this.reperes = reperes;
+        this.depuisRepere = depuisRepere;
+        this.versRepere = versRepere;
+    }
+
+    /**
+     * <p>
+     * Choisit les repères par éloignement successif : chaque nouveau repère
+     * est le nœud accessible le plus éloigné des repères déjà choisis,
+     * ce qui les répartit en périphérie du graphe.
+     *
+     * @param graphe la vue compacte du graphe
+     * @param nbReperes le nombre de repères souhaité (16 suffit généralement)
+     * @return la table des repères
+     * @since 2013
+     */
+    public static TableReperes calculer(GrapheCompact graphe, int nbReperes) {
+        int n = graphe.getNbNoeuds();
+        int k = Math.min(nbReperes, n);
+        GrapheCompact inverse = graphe.inverse();
+
+        int[] reperes = new int[k];
+        float[][] depuis = new float[k][n];
+        float[][] vers = new float[k][n];
+        float[] eloignement = new float[n];
+        Arrays.fill(eloignement, Float.POSITIVE_INFINITY);
+
+        int[] precedents = new int[n];
+        FilePriorite tas = FilePriorite.creer(graphe);
+        int prochain = 0;
+
+        for (int r = 0; r < k; r++) {
+            reperes[r] = prochain;
+            Dijkstra.computePaths(graphe, prochain, depuis[r], precedents, tas);
+            Dijkstra.computePaths(inverse, prochain, vers[r], precedents, tas);
+
+            // Nœud accessible le plus éloigné de tous les repères
+            float max = -1;
+            for (int v = 0; v < n; v++) {
+                float d = depuis[r][v];
+                if (d < eloignement[v])
+                    eloignement[v] = d;
+                if (eloignement[v] != Float.POSITIVE_INFINITY && eloignement[v] > max) {
+                    max = eloignement[v];
+                    prochain = v;
+                }
+            }
+        }
+
+        return new TableReperes(reperes, depuis, vers);
+    }
+
+    /**
+     * <p>Retourne le nombre de repères
+     *
+     * @return le nombre de repères de la table
+     * @since 2013
+     */
+    public int getNbReperes() {
+        return reperes.length;
+    }
+
+    /**
+     * <p>Retourne l'indice du nœud servant de repère
+     *
+     * @param r le numéro du repère
+     * @return l'indice du nœud
+     * @since 2013
+     */
+    public int getRepere(int r) {
+        return reperes[r];
+    }
+
+    /**
+     * <p>Retourne une borne inférieure de la distance entre deux nœuds
+     *
+     * @param v l'indice du nœud de départ
+     * @param t l'indice du nœud d'arrivée
+     * @return une valeur positive inférieure ou égale à <code>d(v, t)</code>
+     * @since 2013
+     */
+    public float borneInferieure(int v, int t) {
+        float borne = 0;
+
+        for (int r = 0; r < reperes.length; r++) {
+            float[] depuis = depuisRepere[r];
+            float[] vers = versRepere[r];
+
+            // d(L,t) <= d(L,v) + d(v,t)
+            if (depuis[v] != Float.POSITIVE_INFINITY) {
+                float b = depuis[t] - depuis[v];
+                if (b > borne)
+                    borne = b;
+            }
+
+            // d(v,L) <= d(v,t) + d(t,L)
+            if (vers[t] != Float.POSITIVE_INFINITY) {
+                float b = vers[v] - vers[t];
+                if (b > borne)
+                    borne = b;
+            }
+        }
+
+        return borne;
+    }
+}
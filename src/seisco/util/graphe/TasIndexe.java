@@ -0,0 +1,238 @@
+package seisco.util.graphe;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>
+ * Tas binaire minimum indexé par des entiers <code>0..capacite-1</code>,
+ * dont les clés sont des <code>float</code> primitifs.
+ *
+ * <p>
+ * Chaque élément connaît sa position dans le tas, ce qui permet de
+ * diminuer sa clé en O(log n) sans avoir à le retirer puis à le réinsérer
+ * (contrairement à {@link java.util.PriorityQueue#remove(java.lang.Object)}
+ * qui est en O(n)). Aucun objet n'est alloué après la construction.
+ *
+ * <p>Un tas n'est pas thread-safe : chaque tâche de calcul utilise le sien.
+ *
+ * @version 2013
+ * @see FilePriorite#creer(seisco.util.graphe.GrapheCompact)
+ */
+public class TasIndexe extends FilePriorite {
+
+    private final int[] tas;
+    private final int[] positions;
+    private final float[] cles;
+    private int taille;
+
+    /**
+     * <p>Instancie un tas vide pouvant contenir les éléments <code>0..capacite-1</code>
+     *
+     * @param capacite le nombre d'éléments distincts
+     * @since 2013
+     */
+    public TasIndexe(int capacite) {
+        this.tas = new int[capacite];
+        this.positions = new int[capacite];
+        this.cles = new float[capacite];
+        this.taille = 0;
+
+        Arrays.fill(this.positions, -1);
+    }
+
+    /**
+     * <p>Retourne la capacité du tas
+     *
+     * @return le nombre d'éléments distincts que le tas peut contenir
+     * @since 2013
+     */
+    public int getCapacite() {
+        return tas.length;
+    }
+
+    /**
+     * <p>Retourne le nombre d'éléments présents dans le tas
+     *
+     * @return le nombre d'éléments
+     * @since 2013
+     */
+    @Override
+    public int taille() {
+        return taille;
+    }
+
+    /**
+     * <p>Indique si le tas est vide
+     *
+     * @return
+     *  <p> <b>true</b> si le tas ne contient aucun élément
+     *  <p> <b>false</b> sinon
+     * @since 2013
+     */
+    @Override
+    public boolean estVide() {
+        return taille == 0;
+    }
+
+    /**
+     * <p>Indique si un élément est présent dans le tas
+     *
+     * @param element l'élément à tester
+     * @return
+     *  <p> <b>true</b> si l'élément est dans le tas
+     *  <p> <b>false</b> sinon
+     * @since 2013
+     */
+    public boolean contient(int element) {
+        return positions[element] >= 0;
+    }
+
+    /**
+     * <p>Retourne la clé d'un élément présent dans le tas
+     *
+     * @param element l'élément
+     * @return la clé de l'élément
+     * @since 2013
+     */
+    public float cle(int element) {
+        return cles[element];
+    }
+
+    /**
+     * <p>
+     * Insère un élément absent du tas, ou diminue sa clé s'il y est déjà.
+     * Une clé supérieure à la clé actuelle est ignorée.
+     *
+     * @param element l'élément à insérer
+     * @param cle la clé de l'élément
+     * @since 2013
+     */
+    @Override
+    public void insererOuDiminuer(int element, float cle) {
+        int position = positions[element];
+
+        if (position < 0) {
+            cles[element] = cle;
+            positions[element] = taille;
+            tas[taille] = element;
+            remonter(taille++);
+        } else if (cle < cles[element]) {
+            cles[element] = cle;
+            remonter(position);
+        }
+    }
+
+    /**
+     * <p>
+     * Remplace la clé d'un élément présent dans le tas,
+     * qu'elle augmente ou qu'elle diminue.
+     *
+     * @param element l'élément, présent dans le tas
+     * @param cle la nouvelle clé de l'élément
+     * @since 2013
+     */
+    public void modifierCle(int element, float cle) {
+        float ancienne = cles[element];
+        cles[element] = cle;
+
+        if (cle < ancienne)
+            remonter(positions[element]);
+        else
+            descendre(positions[element]);
+    }
+
+    /**
+     * <p>Retourne la plus petite clé du tas sans retirer l'élément
+     *
+     * @return
+     *  <p> la clé de l'élément au sommet du tas
+     *  <p> {@link Float#POSITIVE_INFINITY} si le tas est vide
+     * @since 2013
+     */
+    public float cleMin() {
+        return (taille == 0) ? Float.POSITIVE_INFINITY : cles[tas[0]];
+    }
+
+    /**
+     * <p>Retire et retourne l'élément de clé minimum
+     *
+     * @return l'élément de plus petite clé
+     * @throws NoSuchElementException si le tas est vide
+     * @since 2013
+     */
+    @Override
+    public int extraireMin() {
+        if (taille == 0)
+            throw new NoSuchElementException("Le tas est vide");
+
+        int min = tas[0];
+        positions[min] = -1;
+
+        if (--taille > 0) {
+            tas[0] = tas[taille];
+            positions[tas[0]] = 0;
+            descendre(0);
+        }
+
+        return min;
+    }
+
+    /**
+     * <p>
+     * Vide le tas. Seuls les éléments encore présents sont réinitialisés,
+     * le tas peut donc être réutilisé d'une source à l'autre à moindre coût.
+     *
+     * @since 2013
+     */
+    @Override
+    public void vider() {
+        for (int i = 0; i < taille; i++)
+            positions[tas[i]] = -1;
+
+        taille = 0;
+    }
+
+    private void remonter(int position) {
+        int element = tas[position];
+        float cle = cles[element];
+
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            int elementParent = tas[parent];
+            if (cles[elementParent] <= cle)
+                break;
+
+            tas[position] = elementParent;
+            positions[elementParent] = position;
+            position = parent;
+        }
+
+        tas[position] = element;
+        positions[element] = position;
+    }
+
+    private void descendre(int position) {
+        int element = tas[position];
+        float cle = cles[element];
+        int moitie = taille >>> 1;
+
+        while (position < moitie) {
+            int enfant = 2 * position + 1;
+            int droit = enfant + 1;
+            if (droit < taille && cles[tas[droit]] < cles[tas[enfant]])
+                enfant = droit;
+
+            int elementEnfant = tas[enfant];
+            if (cle <= cles[elementEnfant])
+                break;
+
+            tas[position] = elementEnfant;
+            positions[elementEnfant] = position;
+            position = enfant;
+        }
+
+        tas[position] = element;
+        positions[element] = position;
+    }
+}